@@ -0,0 +1,69 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import study.datajpa.entity.Member;
+import study.datajpa.entity.SkippableAuditingEntityListener;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * auditing on / off 에 따른 insert 처리량 (초당 member 수)
+ *  op 한번 = 1000 명 batch insert, 4 스레드 동시 실행
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AuditingBenchmark extends SpringBenchmarkSupport {
+
+    private static final int BATCH = 1000;
+
+    @Param({"true", "false"})
+    boolean auditing;
+
+    MemberRepository memberRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startContext();
+        memberRepository = bean(MemberRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closeContext();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public int persist() {
+        List<Member> members = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            members.add(new Member("member" + i, i % 100));
+        }
+        return auditing
+                ? memberRepository.saveAllBatched(members, BATCH)
+                : SkippableAuditingEntityListener.runWithoutAuditing(() -> memberRepository.saveAllBatched(members, BATCH));
+    }
+}
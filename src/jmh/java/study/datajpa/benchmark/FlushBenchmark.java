@@ -0,0 +1,100 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.engine.spi.SelfDirtinessTracker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * flush (dirty checking) 비용 - 영속 상태 member 10000 명
+ *  - loadAndRollback : 조회만 (rollback => flush x)
+ *  - loadAndCommit : 조회 + commit 시 flush, dirty 명만 실제로 변경
+ *  두 결과의 차이 = flush 비용
+ *
+ *  bytecode enhancement (inline dirty tracking, 기본 빌드) : ./gradlew jmh
+ *  스냅샷 비교 : ./gradlew jmh -PnoEnhancement
+ *  어느 방식으로 측정했는지는 trial 시작 시 로그로 출력
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FlushBenchmark extends SpringBenchmarkSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(FlushBenchmark.class);
+
+    private static final int MEMBERS = 10_000;
+
+    @Param({"0", "100"})
+    int dirty;
+
+    MemberRepository memberRepository;
+    TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 2차 캐시 적재 비용 제외
+        startContext("spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        memberRepository = bean(MemberRepository.class);
+        transactionTemplate = new TransactionTemplate(bean(PlatformTransactionManager.class));
+
+        List<Member> seed = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            seed.add(new Member("member" + i, i % 100));
+        }
+        memberRepository.saveAllBatched(seed, 1000);
+
+        log.info("dirty checking = {}",
+                SelfDirtinessTracker.class.isAssignableFrom(Member.class) ? "enhanced" : "snapshot");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closeContext();
+    }
+
+    @Benchmark
+    public int loadAndRollback() {
+        return transactionTemplate.execute(status -> {
+            List<Member> members = load();
+            status.setRollbackOnly();
+            return members.size();
+        });
+    }
+
+    @Benchmark
+    public int loadAndCommit() {
+        return transactionTemplate.execute(status -> load().size());
+    }
+
+    private List<Member> load() {
+        List<Member> members = memberRepository.findMemberCustom();
+        for (int i = 0; i < dirty; i++) {
+            members.get(i).increaseAge(1);
+        }
+        return members;
+    }
+}
@@ -0,0 +1,93 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jakarta.persistence.EntityManagerFactory;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * findByNames in 절 패딩 / chunk 효과
+ *  호출마다 names 길이를 [size / 2, size] 사이에서 랜덤으로 바꿔서 호출
+ *  aux counter (planCacheHit, planCacheMiss) 로 쿼리 플랜 캐시 hit 율 확인
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InClauseBenchmark extends SpringBenchmarkSupport {
+
+    private static final int MEMBERS = 10_000;
+
+    @Param({"10", "100", "1000", "10000", "50000"})
+    int size;
+
+    @Param({"true", "false"})
+    boolean padding;
+
+    MemberRepository memberRepository;
+    Statistics statistics;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PlanCache {
+        public long planCacheHit;
+        public long planCacheMiss;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        startContext("spring.jpa.properties.hibernate.query.in_clause_parameter_padding=" + padding);
+        memberRepository = bean(MemberRepository.class);
+        statistics = bean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < MEMBERS; i++) {
+            members.add(new Member("member" + i, i % 100));
+        }
+        memberRepository.saveAllBatched(members, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closeContext();
+    }
+
+    @Benchmark
+    public int findByNames(PlanCache planCache) {
+        int length = ThreadLocalRandom.current().nextInt(size / 2, size + 1);
+        List<String> names = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            names.add("member" + ThreadLocalRandom.current().nextInt(MEMBERS * 2));
+        }
+
+        long hit = statistics.getQueryPlanCacheHitCount();
+        long miss = statistics.getQueryPlanCacheMissCount();
+        int result = memberRepository.findByNames(names).size();
+        planCache.planCacheHit += statistics.getQueryPlanCacheHitCount() - hit;
+        planCache.planCacheMiss += statistics.getQueryPlanCacheMissCount() - miss;
+        return result;
+    }
+}
@@ -0,0 +1,79 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.service.MemberService;
+
+/**
+ * 같은 member (hot row) 에 writers 개 스레드가 동시에 수정할 때 낙관적 락 + 재시도 vs 비관적 락
+ *  op 한번 = writers 개 스레드가 각각 1번씩 수정 완료하는 시간
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LockContentionBenchmark extends SpringBenchmarkSupport {
+
+    @Param({"optimistic", "pessimistic"})
+    String mode;
+
+    @Param({"8", "16", "32", "64"})
+    int writers;
+
+    MemberService memberService;
+    Member member;
+    ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // writers 개 트랜잭션이 충돌하면 한 스레드는 최대 writers - 1 번 실패 => 재시도 포함 writers 번이면 충분
+        startContext("spring.datasource.hikari.maximum-pool-size=" + writers,
+                "datajpa.retry.optimistic-lock.max-attempts=" + writers);
+        memberService = bean(MemberService.class);
+        member = bean(MemberRepository.class).save(new Member("hot", 0));
+        executor = Executors.newFixedThreadPool(writers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        closeContext();
+    }
+
+    @Benchmark
+    public void update() throws Exception {
+        Runnable task = "optimistic".equals(mode)
+                ? () -> memberService.increaseAge(member.getId(), 1)
+                : () -> memberService.increaseAgeWithLock(member.getUsername(), 1);
+        List<Future<?>> futures = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            futures.add(executor.submit(task));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
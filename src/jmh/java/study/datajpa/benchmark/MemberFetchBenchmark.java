@@ -0,0 +1,132 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.dto.MemberDTO;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+
+/**
+ * 리포지토리 조회 전략 비교 (fetch join, @EntityGraph, lazy loading N+1, DTO 조회, read only)
+ *  각 벤치마크는 트랜잭션 하나 안에서 member 조회 후 team 이름까지 접근
+ *  실행 : ./gradlew jmh => build/reports/jmh/results.json
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberFetchBenchmark extends SpringBenchmarkSupport {
+
+    private static final int MEMBERS_PER_TEAM = 10;
+
+    @Param({"100", "1000", "10000"})
+    int members;
+
+    MemberRepository memberRepository;
+    TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // lazy loading N+1 을 그대로 측정하기 위해 2차 캐시 off
+        startContext("spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        memberRepository = bean(MemberRepository.class);
+        TeamRepository teamRepository = bean(TeamRepository.class);
+        transactionTemplate = new TransactionTemplate(bean(PlatformTransactionManager.class));
+
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < members / MEMBERS_PER_TEAM; i++) {
+            teams.add(new Team("team" + i));
+        }
+        teamRepository.saveAll(teams);
+
+        List<Member> seed = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            seed.add(new Member("member" + i, i % 100, teams.get(i / MEMBERS_PER_TEAM)));
+        }
+        memberRepository.saveAllBatched(seed, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closeContext();
+    }
+
+    @Benchmark
+    public int fetchJoin() {
+        return transactionTemplate.execute(status -> touchTeams(memberRepository.findMemberFetchJoin()));
+    }
+
+    @Benchmark
+    public int entityGraphFindAll() {
+        return transactionTemplate.execute(status -> touchTeams(memberRepository.findAll()));
+    }
+
+    @Benchmark
+    public int entityGraphDerivedQuery() {
+        return transactionTemplate.execute(status -> touchTeams(memberRepository.findEntityGraphByUsername("member0")));
+    }
+
+    @Benchmark
+    public int entityGraphJpql() {
+        return transactionTemplate.execute(status -> touchTeams(memberRepository.findMemberEntityGraph()));
+    }
+
+    // select m from Member m => team 은 proxy, 접근할 때 마다 select team (N+1)
+    @Benchmark
+    public int lazyLoading() {
+        return transactionTemplate.execute(status -> touchTeams(memberRepository.findMemberCustom()));
+    }
+
+    @Benchmark
+    public int dtoProjection() {
+        return transactionTemplate.execute(status -> {
+            int sum = 0;
+            for (MemberDTO dto : memberRepository.findMemberDTO()) {
+                sum += dto.getTeamName().length();
+            }
+            return sum;
+        });
+    }
+
+    @Benchmark
+    public int readOnlyHint() {
+        return transactionTemplate.execute(status -> memberRepository.findReadOnlyByUsername("member0").getAge());
+    }
+
+    @Benchmark
+    public int writable() {
+        return transactionTemplate.execute(status -> memberRepository.findOneByUsername("member0").getAge());
+    }
+
+    private int touchTeams(List<Member> result) {
+        int sum = 0;
+        for (Member member : result) {
+            if (member.getTeam() != null) {
+                sum += member.getTeam().getName().length();
+            }
+        }
+        return sum;
+    }
+}
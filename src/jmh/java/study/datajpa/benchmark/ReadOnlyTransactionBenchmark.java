@@ -0,0 +1,78 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * 조회 요청 1건 (member members 명 조회) 비용 - 읽기 전용 트랜잭션 vs 읽기 / 쓰기 트랜잭션
+ *  읽기 전용 : 스냅샷 x, commit 시 flush (더티체킹) x
+ *  시간 = cpu, gc.alloc.rate.norm (op 당 할당 바이트) = 메모리
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadOnlyTransactionBenchmark extends SpringBenchmarkSupport {
+
+    @Param({"100", "1000"})
+    int members;
+
+    @Param({"true", "false"})
+    boolean readOnly;
+
+    MemberRepository memberRepository;
+    TransactionTemplate transactionTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 2차 캐시 적재 비용 제외
+        startContext("spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        memberRepository = bean(MemberRepository.class);
+        transactionTemplate = new TransactionTemplate(bean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+
+        List<Member> seed = new ArrayList<>();
+        for (int i = 0; i < members; i++) {
+            seed.add(new Member("member" + i, i % 100));
+        }
+        memberRepository.saveAllBatched(seed, 1000);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        closeContext();
+    }
+
+    @Benchmark
+    public int findAll() {
+        return transactionTemplate.execute(status -> {
+            int length = 0;
+            for (Member member : memberRepository.findAll()) {
+                length += member.getUsername().length();
+            }
+            return length;
+        });
+    }
+}
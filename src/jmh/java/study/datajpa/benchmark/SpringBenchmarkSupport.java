@@ -0,0 +1,47 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import study.datajpa.DataJpaApplication;
+
+/**
+ * 벤치마크용 스프링 컨텍스트
+ *  trial 마다 별도의 in-memory H2 를 사용하고, sql 로그는 측정에 영향을 주므로 off
+ */
+public abstract class SpringBenchmarkSupport {
+
+    protected ConfigurableApplicationContext context;
+
+    protected void startContext(String... properties) {
+        List<String> all = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:bench-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "datajpa.seed.enabled=false",
+                "logging.level.root=warn",
+                "logging.level.study.datajpa.benchmark=info",
+                "logging.level.org.hibernate.SQL=warn",
+                "decorator.datasource.p6spy.enable-logging=false"));
+        all.addAll(Arrays.asList(properties));
+
+        context = new SpringApplicationBuilder(DataJpaApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(all.toArray(String[]::new))
+                .run();
+    }
+
+    protected <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    protected void closeContext() {
+        if (context != null) {
+            context.close();
+        }
+    }
+}
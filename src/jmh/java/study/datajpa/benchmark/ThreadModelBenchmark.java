@@ -0,0 +1,89 @@
+package study.datajpa.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import study.datajpa.config.VirtualThreads;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * 동시 요청 처리량 비교
+ *  platform : tomcat 기본값과 같은 200 개 고정 스레드 풀
+ *  virtual  : 요청 당 virtual thread + 커넥션 풀 크기 semaphore (Java 21 : ./gradlew jmh -Pjava21)
+ *  한 번의 op = concurrency 개의 요청 (각각 findByUsername + 2ms 외부 io 대기) 을 모두 처리하는 시간
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ThreadModelBenchmark extends SpringBenchmarkSupport {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    String model;
+
+    @Param({"1000", "10000"})
+    int concurrency;
+
+    MemberRepository memberRepository;
+    ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = "virtual".equals(model);
+        if (virtual && !VirtualThreads.isSupported()) {
+            throw new IllegalStateException("virtual 모델은 Java 21 에서 실행 (-Pjava21)");
+        }
+        startContext("datajpa.virtual-threads.enabled=" + virtual);
+        memberRepository = bean(MemberRepository.class);
+        memberRepository.save(new Member("member0", 10));
+
+        executor = virtual
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        closeContext();
+    }
+
+    @Benchmark
+    public int requests() throws Exception {
+        List<Future<Integer>> futures = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(executor.submit(() -> {
+                Thread.sleep(2);
+                return memberRepository.findByUsername("member0").size();
+            }));
+        }
+        int sum = 0;
+        for (Future<Integer> future : futures) {
+            sum += future.get();
+        }
+        return sum;
+    }
+}
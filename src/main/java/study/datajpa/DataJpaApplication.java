@@ -1,25 +1,54 @@
 package study.datajpa;
 
-import java.util.Optional;
-import java.util.UUID;
+import java.time.Clock;
 
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
-import org.springframework.data.domain.AuditorAware;
+import org.springframework.core.Ordered;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.retry.annotation.EnableRetry;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
 
-@EnableJpaAuditing
+import study.datajpa.config.AuditingFlushListener;
+import study.datajpa.config.RequestAuditorAware;
+import study.datajpa.config.TransactionScopedAuditing;
+
+@EnableJpaAuditing(auditorAwareRef = "auditingProvider", dateTimeProviderRef = "auditingProvider")
+@EnableAsync
+// 재시도 (@Retryable) 를 트랜잭션 (@Transactional) 바깥에 적용 => 재시도마다 새 트랜잭션, 새 영속성 컨텍스트
+@EnableRetry(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableTransactionManagement(proxyTargetClass = true, order = Ordered.LOWEST_PRECEDENCE)
 @SpringBootApplication
 public class DataJpaApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(DataJpaApplication.class, args);
+		SpringApplication application = new SpringApplication(DataJpaApplication.class);
+		// 기동 단계별 소요 시간 기록 => /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
+	}
+
+	@Bean
+	public Clock clock() {
+		return Clock.systemDefaultZone();
+	}
+
+	// 등록자 (요청의 인증 사용자) 는 트랜잭션 당 한번 조회, 시간은 flush 당 한번만 생성
+	@Bean
+	public TransactionScopedAuditing auditingProvider(@Value("${datajpa.auditing.system-auditor:system}") String systemAuditor,
+			Clock clock) {
+		return new TransactionScopedAuditing(new RequestAuditorAware(systemAuditor), clock);
 	}
 
 	@Bean
-	public AuditorAware<String> auditorProvider() {
-		return () ->  Optional.of(UUID.randomUUID().toString());
+	public HibernatePropertiesCustomizer auditingFlushListener() {
+		return properties -> properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, AuditingFlushListener.class.getName());
 	}
 
 }
@@ -0,0 +1,17 @@
+package study.datajpa.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * 세션 별로 생성되는 hibernate 이벤트 리스너 (hibernate.session.events.auto)
+ *  flush 가 끝날 때마다 auditing 시간 초기화 => TransactionScopedAuditing 의 시간은 flush 당 한번
+ */
+public class AuditingFlushListener implements SessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void flushEnd(int numberOfEntities, int numberOfCollections) {
+        TransactionScopedAuditing.flushed();
+    }
+}
@@ -0,0 +1,31 @@
+package study.datajpa.config;
+
+import java.util.List;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import study.datajpa.repository.support.FetchPlan;
+import study.datajpa.repository.support.FetchPlanHolder;
+
+/**
+ * @FetchPlan 메소드 실행 동안 요청 스레드에 fetch plan 설정
+ *  예외가 나도 finally 에서 이전 값으로 되돌림 => 스레드 풀에 이전 요청의 fetch plan 이 남지 않음
+ */
+@Aspect
+@Component
+public class FetchPlanAspect {
+
+    @Around("@annotation(fetchPlan)")
+    public Object apply(ProceedingJoinPoint joinPoint, FetchPlan fetchPlan) throws Throwable {
+        List<String> outer = FetchPlanHolder.current();
+        FetchPlanHolder.set(fetchPlan.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            FetchPlanHolder.restore(outer);
+        }
+    }
+}
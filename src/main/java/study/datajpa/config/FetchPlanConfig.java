@@ -0,0 +1,24 @@
+package study.datajpa.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import study.datajpa.repository.support.FetchPlanInitializer;
+
+/**
+ * open-in-view 비활성화 (spring.jpa.open-in-view: false) 대신 엔드포인트별 fetch plan
+ *  - 컨트롤러 메소드의 @FetchPlan => FetchPlanAspect 가 요청 스레드에 설정
+ *  - spring data 리포지토리 호출 결과 (트랜잭션 안) 를 commit 직전 초기화 대상으로 등록 => FetchPlanInitializer (RepositoryAdvice)
+ */
+@Configuration
+public class FetchPlanConfig {
+
+    @Bean
+    public RepositoryAdvice fetchPlanAdvice(FetchPlanInitializer initializer) {
+        return information -> invocation -> {
+            Object result = invocation.proceed();
+            initializer.register(result);
+            return result;
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package study.datajpa.config;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+import org.springframework.context.SmartLifecycle;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * virtual thread pinning 감지 (JFR jdk.VirtualThreadPinned 이벤트)
+ *  synchronized 블록 안에서 jdbc io 로 블로킹되면 virtual thread 가 carrier thread 를 붙잡고 있게 됨
+ *  => 로그 + datajpa.virtual-threads.pinned 카운터
+ */
+@Slf4j
+public class PinnedThreadMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private RecordingStream recordingStream;
+
+    public PinnedThreadMonitor(MeterRegistry meterRegistry, Duration threshold) {
+        this.threshold = threshold;
+        this.pinned = Counter.builder("datajpa.virtual-threads.pinned").register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        recordingStream = new RecordingStream();
+        recordingStream.enable(PINNED_EVENT).withStackTrace().withThreshold(threshold);
+        recordingStream.onEvent(PINNED_EVENT, this::report);
+        recordingStream.startAsync();
+    }
+
+    @Override
+    public void stop() {
+        if (recordingStream != null) {
+            recordingStream.close();
+            recordingStream = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recordingStream != null;
+    }
+
+    private void report(RecordedEvent event) {
+        pinned.increment();
+        String frames = event.getStackTrace() == null ? "" : event.getStackTrace().getFrames().stream()
+                .limit(10)
+                .map(this::format)
+                .collect(Collectors.joining("\n\tat ", "\n\tat ", ""));
+        log.warn("virtual thread pinned {}ms{}", event.getDuration().toMillis(), frames);
+    }
+
+    private String format(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+}
@@ -0,0 +1,91 @@
+package study.datajpa.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+/**
+ * 읽기 전용 트랜잭션은 replica, 나머지는 primary 로 라우팅
+ *  - 한 요청 안에서 쓰기 트랜잭션이 실행된 이후의 읽기는 primary (방금 쓴 데이터를 replica 가 아직 모를 수 있음)
+ *  - 커넥션을 실제로 사용하는 시점에 결정해야 readOnly 여부를 알 수 있으므로 LazyConnectionDataSourceProxy 로 감싸서 사용
+ */
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    private static final String WRITTEN_ATTRIBUTE = ReplicationRoutingDataSource.class.getName() + ".WRITTEN";
+
+    private final List<String> replicaKeys = new ArrayList<>();
+    private final Map<String, HikariDataSource> replicas;
+    private final boolean leastConnections;
+    private final AtomicInteger counter = new AtomicInteger();
+
+    public ReplicationRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas, boolean leastConnections) {
+        this.leastConnections = leastConnections;
+        this.replicas = new HashMap<>();
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            this.replicaKeys.add(key);
+            this.replicas.put(key, replicas.get(i));
+            targets.put(key, replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        if (!readOnly) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                markWritten();
+            }
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || isWritten()) {
+            return PRIMARY;
+        }
+        return leastConnections ? leastConnectionsReplica() : roundRobinReplica();
+    }
+
+    private String roundRobinReplica() {
+        return replicaKeys.get(Math.floorMod(counter.getAndIncrement(), replicaKeys.size()));
+    }
+
+    private String leastConnectionsReplica() {
+        String selected = replicaKeys.get(0);
+        int min = Integer.MAX_VALUE;
+        for (String key : replicaKeys) {
+            HikariPoolMXBean pool = replicas.get(key).getHikariPoolMXBean();
+            int active = pool == null ? 0 : pool.getActiveConnections();
+            if (active < min) {
+                min = active;
+                selected = key;
+            }
+        }
+        return selected;
+    }
+
+    private void markWritten() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(WRITTEN_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private boolean isWritten() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(WRITTEN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+}
@@ -0,0 +1,14 @@
+package study.datajpa.config;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.data.repository.core.RepositoryInformation;
+
+/**
+ * spring data 리포지토리 프록시에 추가할 advice
+ *  빈으로 등록하면 RepositoryAdviceConfig 가 리포지토리마다 interceptor 를 만들어 추가 (@Order 순서)
+ */
+@FunctionalInterface
+public interface RepositoryAdvice {
+
+    MethodInterceptor interceptor(RepositoryInformation information);
+}
@@ -0,0 +1,31 @@
+package study.datajpa.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * RepositoryAdvice 빈을 모든 spring data 리포지토리 프록시에 추가
+ *  advice 빈은 리포지토리 프록시를 만드는 시점에 조회 (BeanPostProcessor 생성 시점 x)
+ */
+@Configuration
+public class RepositoryAdviceConfig {
+
+    @Bean
+    public static BeanPostProcessor repositoryAdvicePostProcessor(ObjectProvider<RepositoryAdvice> advices) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> advices.orderedStream()
+                                    .forEach(advice -> proxyFactory.addAdvice(advice.interceptor(information)))));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,33 @@
+package study.datajpa.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import study.datajpa.monitoring.RepositoryInvocationMetrics;
+import study.datajpa.monitoring.RepositoryMethodHolder;
+
+/**
+ * spring data 리포지토리 결과 건수, 실행 중인 메소드 (RepositoryMethodHolder) 기록
+ *  실행 시간, 실패 횟수는 spring boot 가 등록하는 RepositoryMethodInvocationListener 가 기록
+ *  (invocation listener 는 반환값을 받을 수 없으므로 리포지토리 프록시에 interceptor 추가)
+ */
+@Configuration
+public class RepositoryMetricsConfig {
+
+    @Bean
+    public RepositoryAdvice repositoryResultSizeAdvice(RepositoryInvocationMetrics metrics) {
+        return information -> {
+            String repository = information.getRepositoryInterface().getSimpleName();
+            return invocation -> {
+                String outer = RepositoryMethodHolder.enter(repository + "." + invocation.getMethod().getName());
+                try {
+                    Object result = invocation.proceed();
+                    metrics.recordResultSize(repository, invocation.getMethod(), result);
+                    return result;
+                } finally {
+                    RepositoryMethodHolder.exit(outer);
+                }
+            };
+        };
+    }
+}
@@ -0,0 +1,32 @@
+package study.datajpa.config;
+
+import java.security.Principal;
+import java.util.Optional;
+
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * 등록자 = 현재 요청의 인증 사용자 (HttpServletRequest.getUserPrincipal)
+ *  요청 밖 (배치, 비동기 작업) 이거나 인증되지 않은 요청이면 systemAuditor
+ */
+public class RequestAuditorAware implements AuditorAware<String> {
+
+    private final String systemAuditor;
+
+    public RequestAuditorAware(String systemAuditor) {
+        this.systemAuditor = systemAuditor;
+    }
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            Principal principal = attributes.getRequest().getUserPrincipal();
+            if (principal != null) {
+                return Optional.of(principal.getName());
+            }
+        }
+        return Optional.of(systemAuditor);
+    }
+}
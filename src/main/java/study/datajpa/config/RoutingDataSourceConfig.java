@@ -0,0 +1,70 @@
+package study.datajpa.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * primary / replica 라우팅 DataSource (datajpa.datasource.routing.enabled=true)
+ *  primary 는 spring.datasource.*, replica 는 datajpa.datasource.routing.replicas[*]
+ *  커넥션 풀 설정 (spring.datasource.hikari.*) 은 primary, replica 공통
+ *  replica 스키마는 만들지 않음 (ddl-auto 는 primary 에만 적용) => DB 복제로 primary 와 같은 스키마가 있어야 함
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(RoutingDataSourceProperties.class)
+public class RoutingDataSourceConfig {
+
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, RoutingDataSourceProperties routing, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        bindHikariProperties(primary, environment);
+        primary.setPoolName("primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (RoutingDataSourceProperties.Replica replicaProperties : routing.getReplicas()) {
+            HikariDataSource replica = new HikariDataSource();
+            bindHikariProperties(replica, environment);
+            replica.setJdbcUrl(replicaProperties.getUrl());
+            replica.setUsername(replicaProperties.getUsername());
+            replica.setPassword(replicaProperties.getPassword());
+            replica.setReadOnly(true);
+            replica.setPoolName("replica-" + replicas.size());
+            replicas.add(replica);
+        }
+
+        pools.add(primary);
+        pools.addAll(replicas);
+
+        ReplicationRoutingDataSource routingDataSource = new ReplicationRoutingDataSource(
+                primary, replicas, "least-connections".equals(routing.getStrategy()));
+        routingDataSource.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
+    @PreDestroy
+    public void close() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private void bindHikariProperties(HikariDataSource dataSource, Environment environment) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+    }
+}
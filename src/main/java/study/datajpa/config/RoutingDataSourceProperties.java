@@ -0,0 +1,28 @@
+package study.datajpa.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter @Setter
+@ConfigurationProperties("datajpa.datasource.routing")
+public class RoutingDataSourceProperties {
+
+    private boolean enabled;
+
+    // round-robin | least-connections
+    private String strategy = "round-robin";
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    @Getter @Setter
+    public static class Replica {
+        private String url;
+        private String username = "sa";
+        private String password = "";
+    }
+}
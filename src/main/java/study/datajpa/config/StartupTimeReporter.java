@@ -0,0 +1,48 @@
+package study.datajpa.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ApplicationEventMulticaster;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 기동 시간 로그 (jvm 시작 기준)
+ *  - ready : ApplicationReadyEvent 시점
+ *  - first request : 첫 요청 응답 완료 시점 (time-to-first-request)
+ *    DispatcherServlet 이 요청마다 발행하는 ServletRequestHandledEvent 를 한번만 받고 리스너 제거
+ *  단계별 상세 시간은 /actuator/startup
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupTimeReporter {
+
+    private final ApplicationEventMulticaster applicationEventMulticaster;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ready() {
+        log.info("application ready : {}ms", ManagementFactory.getRuntimeMXBean().getUptime());
+        applicationEventMulticaster.addApplicationListener(new FirstRequestListener());
+    }
+
+    private class FirstRequestListener implements ApplicationListener<ServletRequestHandledEvent> {
+
+        private final AtomicBoolean reported = new AtomicBoolean();
+
+        @Override
+        public void onApplicationEvent(ServletRequestHandledEvent event) {
+            if (reported.compareAndSet(false, true)) {
+                log.info("first request [{}] : {}ms", event.getRequestUrl(), ManagementFactory.getRuntimeMXBean().getUptime());
+                applicationEventMulticaster.removeApplicationListener(this);
+            }
+        }
+    }
+}
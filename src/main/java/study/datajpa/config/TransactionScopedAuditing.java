@@ -0,0 +1,79 @@
+package study.datajpa.config;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.Optional;
+
+import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * auditing 값 재사용
+ *  - 등록자 : 트랜잭션 당 한번 auditorSource (ex. RequestAuditorAware) 에서 조회 (엔티티 insert / update 마다 조회 x)
+ *  - 시간 : flush 당 한번 (Clock 기준). flush 가 끝나면 다음 flush 에서 쓸 시간을 새로 만듦 (AuditingFlushListener)
+ *  트랜잭션 밖에서 호출되면 매번 새로 만듦
+ */
+public class TransactionScopedAuditing implements AuditorAware<String>, DateTimeProvider {
+
+    private static final Object RESOURCE_KEY = TransactionScopedAuditing.class;
+
+    private final AuditorAware<String> auditorSource;
+    private final Clock clock;
+
+    public TransactionScopedAuditing(AuditorAware<String> auditorSource, Clock clock) {
+        this.auditorSource = auditorSource;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<String> getCurrentAuditor() {
+        Snapshot snapshot = current();
+        if (snapshot.auditor == null) {
+            snapshot.auditor = auditorSource.getCurrentAuditor();
+        }
+        return snapshot.auditor;
+    }
+
+    @Override
+    public Optional<TemporalAccessor> getNow() {
+        Snapshot snapshot = current();
+        if (snapshot.now == null) {
+            snapshot.now = LocalDateTime.now(clock);
+        }
+        return Optional.of(snapshot.now);
+    }
+
+    private Snapshot current() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new Snapshot();
+        }
+        Snapshot snapshot = (Snapshot) TransactionSynchronizationManager.getResource(RESOURCE_KEY);
+        if (snapshot == null) {
+            snapshot = new Snapshot();
+            TransactionSynchronizationManager.bindResource(RESOURCE_KEY, snapshot);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(RESOURCE_KEY);
+                }
+            });
+        }
+        return snapshot;
+    }
+
+    // flush 완료 => 같은 트랜잭션의 다음 flush 는 새 시간 사용
+    static void flushed() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.getResource(RESOURCE_KEY) instanceof Snapshot snapshot) {
+            snapshot.now = null;
+        }
+    }
+
+    private static class Snapshot {
+        private Optional<String> auditor;
+        private LocalDateTime now;
+    }
+}
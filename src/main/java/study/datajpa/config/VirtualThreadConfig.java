@@ -0,0 +1,79 @@
+package study.datajpa.config;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * virtual thread 실행 모델 (Java 21, datajpa.virtual-threads.enabled=true)
+ *  - tomcat 요청 처리, @Async 리포지토리 메소드, 병렬 count 쿼리를 virtual thread 에서 실행
+ *  - 커넥션 풀 크기 만큼만 동시에 커넥션 사용 (AdmissionControlDataSource)
+ *  - pinning 감지 (PinnedThreadMonitor)
+ */
+@Configuration
+@ConditionalOnProperty(name = "datajpa.virtual-threads.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService virtualThreadExecutor() {
+        return VirtualThreads.newVirtualThreadPerTaskExecutor();
+    }
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer(ExecutorService virtualThreadExecutor) {
+        return protocolHandler -> protocolHandler.setExecutor(virtualThreadExecutor);
+    }
+
+    // 기본 applicationTaskExecutor (ThreadPoolTaskExecutor) 대체
+    @Bean(name = "applicationTaskExecutor")
+    public AsyncTaskExecutor applicationTaskExecutor(ExecutorService virtualThreadExecutor) {
+        return new TaskExecutorAdapter(virtualThreadExecutor);
+    }
+
+    @Bean
+    public PinnedThreadMonitor pinnedThreadMonitor(MeterRegistry meterRegistry,
+                                                   @Value("${datajpa.virtual-threads.pinned-threshold:20ms}") Duration threshold) {
+        return new PinnedThreadMonitor(meterRegistry, threshold);
+    }
+
+    // 최상위 DataSource (유일한 or @Primary 빈) 만 감쌈 => 라우팅 DataSource 아래 primary / replica 에서 중복으로 permit 획득 x
+    @Bean
+    public static BeanPostProcessor admissionControlDataSourcePostProcessor(Environment environment,
+                                                                            ConfigurableListableBeanFactory beanFactory) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlDataSource)
+                        && isTopLevel(beanName)) {
+                    int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+                    long timeout = environment.getProperty("spring.datasource.hikari.connection-timeout", Long.class, 30_000L);
+                    return new AdmissionControlDataSource(dataSource, poolSize, timeout);
+                }
+                return bean;
+            }
+
+            private boolean isTopLevel(String beanName) {
+                if (!beanFactory.containsBeanDefinition(beanName)) {
+                    return false;
+                }
+                return beanFactory.getBeanNamesForType(DataSource.class, true, false).length == 1
+                        || beanFactory.getBeanDefinition(beanName).isPrimary();
+            }
+        };
+    }
+}
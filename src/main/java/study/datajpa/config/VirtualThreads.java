@@ -0,0 +1,26 @@
+package study.datajpa.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Java 21 virtual thread 지원
+ *  소스는 Java 17 로 컴파일하므로 Java 21 api 는 리플렉션으로 호출
+ */
+public abstract class VirtualThreads {
+
+    public static boolean isSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        if (!isSupported()) {
+            throw new IllegalStateException("virtual thread 는 Java 21 이상에서만 사용 가능 (current : " + Runtime.version() + ")");
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("virtual thread executor 생성 실패", e);
+        }
+    }
+}
@@ -1,22 +1,35 @@
 package study.datajpa.controller;
 
+import java.util.List;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Window;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import study.datajpa.dto.MemberCursor;
 import study.datajpa.dto.MemberDTO;
+import study.datajpa.dto.MemberScrollDTO;
 import study.datajpa.entity.Member;
 import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.support.FetchPlan;
+import study.datajpa.service.MemberExportService;
 
 @RestController
 @RequiredArgsConstructor
 public class MemberContoller {
     private final MemberRepository memberRepository;
+    private final MemberExportService memberExportService;
 
     @GetMapping("/members/{id}")
     public String findMember(@PathVariable Long id) {
@@ -24,6 +37,15 @@ public class MemberContoller {
         return member.getUsername();
     }
 
+    // open-in-view 꺼져 있으므로 응답에서 접근하는 team 은 fetch plan 으로 트랜잭션 안에서 초기화
+    @FetchPlan("team")
+    @GetMapping("/members/{id}/detail")
+    public MemberDTO findMemberDetail(@PathVariable Long id) {
+        Member member = memberRepository.findById(id).get();
+        String teamName = member.getTeam() == null ? null : member.getTeam().getName();
+        return new MemberDTO(member.getId(), member.getUsername(), teamName);
+    }
+
     @GetMapping("/members2/{id}")
     public String findMember2(@PathVariable("id") Member member) {
         return member.getUsername();
@@ -31,15 +53,50 @@ public class MemberContoller {
 
     @GetMapping("/members")
     public Page<MemberDTO> list(@PageableDefault(size = 3) Pageable pageable) {
-        return memberRepository.findAll(pageable)
-                    .map(MemberDTO::new);
+        return memberRepository.findMemberDTOPage(pageable);
+    }
+
+    /**
+     * keyset(seek) 페이징
+     *  order = username : (username desc, id) 순, order = id : id 순
+     *  다음 페이지는 응답의 nextCursor 를 cursor 로 전달 (cursor 가 있으면 cursor 의 정렬 기준을 따름)
+     */
+    @GetMapping("/members/scroll")
+    public MemberScrollDTO scroll(@RequestParam(defaultValue = "username") String order,
+                                  @RequestParam(required = false) String cursor) {
+        MemberCursor memberCursor = cursor == null
+                ? MemberCursor.first(!"id".equals(order))
+                : decode(cursor);
+
+        Window<Member> window = memberCursor.isUsernameOrder()
+                ? memberRepository.findTop20ByOrderByUsernameDescIdAsc(memberCursor.getPosition())
+                : memberRepository.findTop20ByOrderByIdAsc(memberCursor.getPosition());
+
+        String nextCursor = window.hasNext()
+                ? MemberCursor.encode(window.positionAt(window.size() - 1))
+                : null;
+        List<MemberDTO> content = window.getContent().stream()
+                .map(MemberDTO::new)
+                .toList();
+        return new MemberScrollDTO(content, nextCursor, window.hasNext());
     }
 
-    @PostConstruct
-    public void init() {
-        for (int i = 0; i < 100; i++) {
-            memberRepository.save(new Member("user" + i, i));
+    // 클라이언트가 보낸 커서 오류 => 400
+    private MemberCursor decode(String cursor) {
+        try {
+            return MemberCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         }
     }
+
+    // 전체 회원 NDJSON 스트리밍 (응답 스레드에서 트랜잭션 시작)
+    @GetMapping("/members/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = out -> memberExportService.exportNdjson(out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
     
 }
@@ -0,0 +1,18 @@
+package study.datajpa.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * chunk 단위 벌크 수정 진행 상황
+ *  lastId 를 startAfterId 로 다시 넘기면 중단된 지점부터 이어서 실행
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BulkUpdateProgress {
+    private long updatedCount;
+    private long lastId;
+    private int chunkCount;
+}
@@ -0,0 +1,68 @@
+package study.datajpa.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * keyset 페이징 커서
+ *  클라이언트에는 마지막 row 의 정렬 키 (id, username) 를 base64 로 감싼 불투명 토큰으로만 전달
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemberCursor {
+
+    private static final String USERNAME_ORDER = "u";
+    private static final String ID_ORDER = "i";
+
+    private final boolean usernameOrder;
+    private final KeysetScrollPosition position;
+
+    public static MemberCursor first(boolean usernameOrder) {
+        return new MemberCursor(usernameOrder, ScrollPosition.keyset());
+    }
+
+    public static String encode(ScrollPosition position) {
+        Map<String, ?> keys = ((KeysetScrollPosition) position).getKeys();
+        String raw = keys.containsKey("username")
+                ? USERNAME_ORDER + ":" + keys.get("id") + ":" + keys.get("username")
+                : ID_ORDER + ":" + keys.get("id");
+        return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MemberCursor decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("잘못된 커서 : " + cursor, e);
+        }
+
+        // username 에는 ':' 이 포함될 수 있으므로 앞에서 두 번만 자른다
+        String[] parts = raw.split(":", 3);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        try {
+            if (USERNAME_ORDER.equals(parts[0]) && parts.length == 3) {
+                keys.put("username", parts[2]);
+                keys.put("id", Long.valueOf(parts[1]));
+                return new MemberCursor(true, ScrollPosition.forward(keys));
+            }
+            if (ID_ORDER.equals(parts[0]) && parts.length == 2) {
+                keys.put("id", Long.valueOf(parts[1]));
+                return new MemberCursor(false, ScrollPosition.forward(keys));
+            }
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("잘못된 커서 : " + cursor, e);
+        }
+        throw new IllegalArgumentException("잘못된 커서 : " + cursor);
+    }
+}
@@ -0,0 +1,16 @@
+package study.datajpa.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class MemberScrollDTO {
+    private List<MemberDTO> content;
+    private String nextCursor;
+    private boolean hasNext;
+}
@@ -2,14 +2,12 @@ package study.datajpa.entity;
 
 import org.springframework.data.annotation.CreatedBy;
 import org.springframework.data.annotation.LastModifiedBy;
-import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import jakarta.persistence.Column;
-import jakarta.persistence.EntityListeners;
 import jakarta.persistence.MappedSuperclass;
 import lombok.Getter;
 
-@EntityListeners(AuditingEntityListener.class)
+// auditing 리스너는 BaseTimeEntity 에서 상속
 @MappedSuperclass
 @Getter
 public class BaseEntity extends BaseTimeEntity {
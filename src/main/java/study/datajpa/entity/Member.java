@@ -1,13 +1,22 @@
 package study.datajpa.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.NamedQuery;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -15,7 +24,14 @@ import lombok.Setter;
 import lombok.ToString;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Getter
+// keyset(seek) 페이징 정렬 순서 (username desc, id) 와 동일한 인덱스
+@Table(indexes = {
+    @Index(name = "idx_member_username_id", columnList = "username desc, member_id"),
+    @Index(name = "idx_member_age_username_id", columnList = "age, username desc, member_id")
+})
 // entity 는 기본 생성자가 기본적으로 생성되어야 함. accessLevel 은 protected 로 설정
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @ToString(of = {"id", "username", "age"})
@@ -27,8 +43,10 @@ import lombok.ToString;
 public class Member extends BaseEntity {
 // extends JpaBaseEntity {
 
+    // allocationSize 만큼 시퀀스를 미리 할당 (pooled-lo) => insert 마다 시퀀스 조회 x, jdbc batch 가능
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_generator")
+    @SequenceGenerator(name = "member_seq_generator", sequenceName = "member_seq", allocationSize = 1000)
     @Column(name = "member_id")
     private Long id;
 
@@ -37,16 +55,31 @@ public class Member extends BaseEntity {
 
     private int age;
 
+    // 낙관적 락 - update 시 where version = ? 조건, 다른 트랜잭션이 먼저 수정했으면 OptimisticLockException
+    @Version
+    private Long version;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "team_id")
     private Team team;
 
     public Member(String username) { this.username = username; }
 
+    // bytecode enhancement (association management) 로 빌드하면 this.team 변경 시 이전 team.members 제거, 새 team.members 추가가 이미 됨
+    //  => 빌드 방식과 상관없이 같은 결과가 되도록 확인 후 제거 / 추가
     public void changeTeam(Team team) {
+        Team oldTeam = this.team;
         this.team = team;
-        team.getMembers().add(this);
+        if (oldTeam != null && oldTeam != team) {
+            oldTeam.getMembers().remove(this);
+        }
+        if (team != null && !team.getMembers().contains(this)) {
+            team.getMembers().add(this);
+        }
+    }
 
+    public void increaseAge(int delta) {
+        this.age += delta;
     }
 
     public Member(String username, int age) {
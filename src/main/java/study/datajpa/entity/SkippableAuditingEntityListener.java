@@ -0,0 +1,61 @@
+package study.datajpa.entity;
+
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.auditing.AuditingHandler;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * AuditingEntityListener + auditing 끄기 스위치
+ *  대량 적재처럼 auditing 값이 필요 없는 경우 runWithoutAuditing 안에서 저장하면
+ *  엔티티마다 리플렉션으로 auditing 필드를 찾아 채우는 비용을 건너뜀 (auditing 컬럼은 null)
+ *  스위치는 runWithoutAuditing 범위에서만 켜짐 (예외가 나도 범위를 벗어나면 해제)
+ *
+ * hibernate 가 엔티티 리스너를 스프링 빈으로 생성할 때 클래스 이름으로 빈 정의를 찾으므로 빈 이름 = 클래스 이름
+ */
+@Component("study.datajpa.entity.SkippableAuditingEntityListener")
+public class SkippableAuditingEntityListener extends AuditingEntityListener {
+
+    private static final ThreadLocal<Boolean> SKIP = new ThreadLocal<>();
+
+    public static <T> T runWithoutAuditing(Supplier<T> action) {
+        // 이미 꺼진 범위 안 (중첩 호출) => 바깥 범위가 해제
+        if (SKIP.get() != null) {
+            return action.get();
+        }
+        SKIP.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            SKIP.remove();
+        }
+    }
+
+    @Override
+    @Autowired
+    public void setAuditingHandler(ObjectFactory<AuditingHandler> auditingHandler) {
+        super.setAuditingHandler(auditingHandler);
+    }
+
+    @Override
+    @PrePersist
+    public void touchForCreate(Object target) {
+        if (SKIP.get() == null) {
+            super.touchForCreate(target);
+        }
+    }
+
+    @Override
+    @PreUpdate
+    public void touchForUpdate(Object target) {
+        if (SKIP.get() == null) {
+            super.touchForUpdate(target);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package study.datajpa.monitoring;
+
+import java.util.function.ToDoubleFunction;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import study.datajpa.repository.support.MemberQueryCache;
+
+/**
+ * 쿼리 캐시 / 2차 캐시 지표 (MeterBinder 빈은 spring boot 가 자동 등록)
+ *  - datajpa.query.cache.hit.ratio : 쿼리 캐시 hit / (hit + miss). 무효화된 결과 조회는 miss
+ *  - datajpa.cache.region.requests (result = hit, miss), datajpa.cache.region.puts : region 별
+ *  hibernate Statistics 기준 (generate_statistics: true 필요)
+ *  쿼리 캐시 region 은 @MemberQueryCache 에서만 선언 => 기동 시점에 모든 region 등록
+ */
+@Component
+@RequiredArgsConstructor
+public class QueryCacheMetrics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Statistics statistics = sessionFactory.getStatistics();
+        Gauge.builder("datajpa.query.cache.hit.ratio", statistics, QueryCacheMetrics::hitRatio)
+                .description("hibernate query cache hit ratio")
+                .register(registry);
+
+        // 이름 있는 쿼리 캐시 region 은 첫 조회 때 생성 => 미리 만들어서 기동 시점 region 목록에 포함
+        sessionFactory.getCache().getQueryResultsCache(MemberQueryCache.REGION);
+
+        // 엔티티, 컬렉션, 기본 / 이름 있는 쿼리 캐시 region
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            regionCounter("datajpa.cache.region.requests", statistics, region, CacheRegionStatistics::getHitCount)
+                    .tag("result", "hit")
+                    .register(registry);
+            regionCounter("datajpa.cache.region.requests", statistics, region, CacheRegionStatistics::getMissCount)
+                    .tag("result", "miss")
+                    .register(registry);
+            regionCounter("datajpa.cache.region.puts", statistics, region, CacheRegionStatistics::getPutCount)
+                    .register(registry);
+        }
+    }
+
+    private static FunctionCounter.Builder<Statistics> regionCounter(String name, Statistics statistics, String region,
+                                                                    ToDoubleFunction<CacheRegionStatistics> count) {
+        return FunctionCounter.builder(name, statistics, s -> {
+                    CacheRegionStatistics regionStatistics = s.getCacheRegionStatistics(region);
+                    return regionStatistics == null ? 0 : count.applyAsDouble(regionStatistics);
+                })
+                .tag("region", region);
+    }
+
+    private static double hitRatio(Statistics statistics) {
+        long hit = statistics.getQueryCacheHitCount();
+        long total = hit + statistics.getQueryCacheMissCount();
+        return total == 0 ? 0 : (double) hit / total;
+    }
+}
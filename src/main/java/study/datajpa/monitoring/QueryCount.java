@@ -0,0 +1,82 @@
+package study.datajpa.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 하나의 범위 (요청, 테스트 블록) 안에서 실행된 sql 수 - 범위는 QueryCountHolder 로 시작 / 종료
+ *  sql 은 리터럴, in 절 파라미터 개수를 제거한 형태 (normalize) 로 묶어서 센다
+ *  커넥션 점유 시간 : 커넥션을 하나 이상 열고 있던 시간의 합 (open-in-view 면 요청 끝까지 점유)
+ */
+public class QueryCount {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(\\.\\d+)?\\b");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)*\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final Map<String, Integer> statements = new LinkedHashMap<>();
+    private int total;
+    private int openConnections;
+    private long connectionOpenedAt;
+    private long connectionHoldNanos;
+
+    public static String normalize(String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("(?)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim().toLowerCase();
+    }
+
+    void add(String sql) {
+        total++;
+        statements.merge(normalize(sql), 1, Integer::sum);
+    }
+
+    void connectionOpened() {
+        if (openConnections++ == 0) {
+            connectionOpenedAt = System.nanoTime();
+        }
+    }
+
+    void connectionClosed() {
+        if (openConnections > 0 && --openConnections == 0) {
+            connectionHoldNanos += System.nanoTime() - connectionOpenedAt;
+        }
+    }
+
+    public int getOpenConnections() {
+        return openConnections;
+    }
+
+    // 아직 열려 있는 커넥션은 현재까지 점유 시간 포함
+    public long getConnectionHoldNanos() {
+        return openConnections > 0
+                ? connectionHoldNanos + System.nanoTime() - connectionOpenedAt
+                : connectionHoldNanos;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public Map<String, Integer> getStatements() {
+        return statements;
+    }
+
+    /**
+     * 같은 모양의 select 가 threshold 회 이상 반복되면 N+1 의심
+     */
+    public Map<String, Integer> suspectedNPlusOne(int threshold) {
+        return statements.entrySet().stream()
+                .filter(e -> e.getValue() >= threshold && e.getKey().startsWith("select"))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+    }
+
+    @Override
+    public String toString() {
+        return "QueryCount{total=" + total + ", connectionHoldNanos=" + getConnectionHoldNanos() + ", statements=" + statements + "}";
+    }
+}
@@ -0,0 +1,113 @@
+package study.datajpa.monitoring;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청 단위 sql 카운트
+ *  - 응답 헤더 : body 를 쓰기 시작하는 시점까지 실행된 sql 수 (X-Query-Count, X-Query-N-Plus-One)
+ *  - 로그 : 요청 종료 시점 전체 sql 수, N+1 의심 sql, 커넥션 점유 시간
+ *  - 메트릭 : 요청 당 커넥션 점유 시간 datajpa.request.connection.hold (uri 패턴별)
+ */
+@Slf4j
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+    public static final String N_PLUS_ONE_HEADER = "X-Query-N-Plus-One";
+
+    public static final String CONNECTION_HOLD = "datajpa.request.connection.hold";
+
+    private final int nPlusOneThreshold;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCountFilter(@Value("${datajpa.query-count.n-plus-one-threshold:10}") int nPlusOneThreshold,
+                            MeterRegistry meterRegistry) {
+        this.nPlusOneThreshold = nPlusOneThreshold;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCount queryCount = QueryCountHolder.start();
+        try {
+            filterChain.doFilter(request, new QueryCountResponse(response, queryCount));
+        } finally {
+            QueryCountHolder.end();
+            report(request, queryCount);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryCount queryCount) {
+        long holdNanos = queryCount.getConnectionHoldNanos();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        Timer.builder(CONNECTION_HOLD)
+                .description("요청 당 커넥션 점유 시간")
+                .tag("uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(meterRegistry)
+                .record(holdNanos, TimeUnit.NANOSECONDS);
+
+        Map<String, Integer> suspected = queryCount.suspectedNPlusOne(nPlusOneThreshold);
+        if (!suspected.isEmpty()) {
+            log.warn("N+1 의심 [{} {}] total={} {}", request.getMethod(), request.getRequestURI(), queryCount.getTotal(), suspected);
+        } else if (log.isDebugEnabled()) {
+            log.debug("[{} {}] query count={}, connection hold={}ms", request.getMethod(), request.getRequestURI(),
+                    queryCount.getTotal(), TimeUnit.NANOSECONDS.toMillis(holdNanos));
+        }
+    }
+
+    private void writeHeaders(HttpServletResponse response, QueryCount queryCount) {
+        if (!response.isCommitted()) {
+            response.setHeader(QUERY_COUNT_HEADER, String.valueOf(queryCount.getTotal()));
+            response.setHeader(N_PLUS_ONE_HEADER, String.valueOf(queryCount.suspectedNPlusOne(nPlusOneThreshold).size()));
+        }
+    }
+
+    /**
+     * body 를 쓰기 직전에 헤더 추가 (이후에는 헤더를 바꿀 수 없음)
+     */
+    private class QueryCountResponse extends HttpServletResponseWrapper {
+        private final QueryCount queryCount;
+
+        QueryCountResponse(HttpServletResponse response, QueryCount queryCount) {
+            super(response);
+            this.queryCount = queryCount;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), queryCount);
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), queryCount);
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            writeHeaders((HttpServletResponse) getResponse(), queryCount);
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package study.datajpa.monitoring;
+
+/**
+ * 현재 스레드의 QueryCount
+ *  start ~ end 사이에 실행된 sql 만 QueryCountListener 가 기록
+ */
+public abstract class QueryCountHolder {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    public static QueryCount start() {
+        QueryCount queryCount = new QueryCount();
+        CURRENT.set(queryCount);
+        return queryCount;
+    }
+
+    public static QueryCount current() {
+        return CURRENT.get();
+    }
+
+    public static QueryCount end() {
+        QueryCount queryCount = CURRENT.get();
+        CURRENT.remove();
+        return queryCount;
+    }
+
+    /**
+     * action 실행 중 발생한 sql 수 (바깥 범위가 있으면 실행 후 복원)
+     */
+    public static QueryCount count(Runnable action) {
+        QueryCount outer = CURRENT.get();
+        QueryCount queryCount = start();
+        try {
+            action.run();
+            return queryCount;
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package study.datajpa.monitoring;
+
+import java.sql.SQLException;
+
+import org.springframework.stereotype.Component;
+
+import com.p6spy.engine.common.ConnectionInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+/**
+ * p6spy 이벤트 리스너 - JdbcEventListener 빈은 p6spy-spring-boot-starter 가 자동 등록
+ */
+@Component
+public class QueryCountListener extends SimpleJdbcEventListener {
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        QueryCount queryCount = QueryCountHolder.current();
+        if (queryCount != null && statementInformation.getSql() != null) {
+            queryCount.add(statementInformation.getSql());
+        }
+    }
+
+    @Override
+    public void onAfterGetConnection(ConnectionInformation connectionInformation, SQLException e) {
+        QueryCount queryCount = QueryCountHolder.current();
+        if (queryCount != null && e == null) {
+            queryCount.connectionOpened();
+        }
+    }
+
+    @Override
+    public void onAfterConnectionClose(ConnectionInformation connectionInformation, SQLException e) {
+        QueryCount queryCount = QueryCountHolder.current();
+        if (queryCount != null) {
+            queryCount.connectionClosed();
+        }
+    }
+}
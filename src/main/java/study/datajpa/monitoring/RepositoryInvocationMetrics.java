@@ -0,0 +1,84 @@
+package study.datajpa.monitoring;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 리포지토리 메소드 지표 (tag : repository, method)
+ *  - 실행 시간, 성공 / 실패 (state, exception tag)
+ *    spring.data.repository.invocations : spring data 리포지토리, spring boot (RepositoryMetricsAutoConfiguration) 가 기록
+ *    datajpa.repository.invocations : 직접 구현한 @Repository, RepositoryMetricsAspect 가 기록 (같은 tag)
+ *  - datajpa.repository.result.size : 조회 결과 건수 (컬렉션, Slice, Window, Optional, 엔티티 1건)
+ *  percentile 은 application.yml management.metrics.distribution.percentiles
+ */
+@Component
+@RequiredArgsConstructor
+public class RepositoryInvocationMetrics {
+
+    public static final String SPRING_DATA_INVOCATIONS = "spring.data.repository.invocations";
+    public static final String INVOCATIONS = "datajpa.repository.invocations";
+    public static final String RESULT_SIZE = "datajpa.repository.result.size";
+
+    private final MeterRegistry meterRegistry;
+
+    public void recordInvocation(String repository, String method, long elapsedNanos, Throwable error) {
+        Timer.builder(INVOCATIONS)
+                .tag("repository", repository)
+                .tag("method", method)
+                .tag("state", error == null ? "SUCCESS" : "ERROR")
+                .tag("exception", error == null ? "None" : error.getClass().getSimpleName())
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordResultSize(String repository, Method method, Object result) {
+        long size = resultSize(method, result);
+        if (size < 0) {
+            return;
+        }
+        DistributionSummary.builder(RESULT_SIZE)
+                .baseUnit("rows")
+                .tag("repository", repository)
+                .tag("method", method.getName())
+                .register(meterRegistry)
+                .record(size);
+    }
+
+    // 건수를 알 수 없는 결과 (void, 숫자, Stream, 비동기 결과) => -1
+    private long resultSize(Method method, Object result) {
+        Class<?> returnType = method.getReturnType();
+        if (returnType.isPrimitive() || Number.class.isAssignableFrom(returnType)) {
+            return -1;
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Window<?> window) {
+            return window.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result.getClass().getPackageName().startsWith("study.datajpa")) {
+            return 1;
+        }
+        return -1;
+    }
+}
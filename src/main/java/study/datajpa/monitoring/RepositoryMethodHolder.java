@@ -0,0 +1,31 @@
+package study.datajpa.monitoring;
+
+/**
+ * 현재 스레드에서 실행 중인 리포지토리 메소드 (Repository.method)
+ *  느린 쿼리를 실행한 리포지토리 메소드 기록용 (SlowQueryListener)
+ */
+public abstract class RepositoryMethodHolder {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * @return 바깥 리포지토리 메소드 (exit 에 넘겨서 복원)
+     */
+    public static String enter(String repositoryMethod) {
+        String outer = CURRENT.get();
+        CURRENT.set(repositoryMethod);
+        return outer;
+    }
+
+    public static void exit(String outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+}
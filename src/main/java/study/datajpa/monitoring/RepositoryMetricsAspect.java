@@ -0,0 +1,42 @@
+package study.datajpa.monitoring;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 직접 구현한 리포지토리 (@Repository - MemberJpaRepository, TeamJpaRepository ...) 실행 시간, 결과 건수 기록
+ *  spring data 리포지토리 지표 (spring boot) 와 같은 tag, 다른 이름 (datajpa.repository.invocations)
+ *  실행 중인 메소드는 RepositoryMethodHolder 에 보관
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+
+    private final RepositoryInvocationMetrics metrics;
+
+    @Around("within(study.datajpa.repository..*) && @within(org.springframework.stereotype.Repository)")
+    public Object record(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        String repository = signature.getDeclaringType().getSimpleName();
+        String outer = RepositoryMethodHolder.enter(repository + "." + signature.getName());
+        long start = System.nanoTime();
+        Throwable error = null;
+        try {
+            Object result = joinPoint.proceed();
+            metrics.recordResultSize(repository, signature.getMethod(), result);
+            return result;
+        } catch (Throwable e) {
+            error = e;
+            throw e;
+        } finally {
+            metrics.recordInvocation(repository, signature.getName(), System.nanoTime() - start, error);
+            RepositoryMethodHolder.exit(outer);
+        }
+    }
+}
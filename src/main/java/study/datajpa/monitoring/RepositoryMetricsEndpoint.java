@@ -0,0 +1,80 @@
+package study.datajpa.monitoring;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/repositories - 리포지토리 메소드 별 실행 시간 요약 (외부 모니터링 시스템 없이 확인)
+ *  p99 가 큰 순서로 정렬. percentile 은 최근 시간 구간 기준 (micrometer client side percentile)
+ */
+@Component
+@Endpoint(id = "repositories")
+@RequiredArgsConstructor
+public class RepositoryMetricsEndpoint {
+
+    private final MeterRegistry meterRegistry;
+
+    @ReadOperation
+    public List<MethodSummary> summary() {
+        return Stream.of(RepositoryInvocationMetrics.SPRING_DATA_INVOCATIONS, RepositoryInvocationMetrics.INVOCATIONS)
+                .flatMap(name -> meterRegistry.find(name).timers().stream())
+                .map(this::toSummary)
+                .sorted(Comparator.comparingDouble(MethodSummary::slowest).reversed())
+                .toList();
+    }
+
+    private MethodSummary toSummary(Timer timer) {
+        String repository = timer.getId().getTag("repository");
+        String method = timer.getId().getTag("method");
+        HistogramSnapshot snapshot = timer.takeSnapshot();
+
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : snapshot.percentileValues()) {
+            String key = "p" + BigDecimal.valueOf(percentile.percentile() * 100).stripTrailingZeros().toPlainString();
+            percentiles.put(key, percentile.value(TimeUnit.MILLISECONDS));
+        }
+
+        DistributionSummary resultSize = meterRegistry.find(RepositoryInvocationMetrics.RESULT_SIZE)
+                .tag("repository", repository)
+                .tag("method", method)
+                .summary();
+
+        return new MethodSummary(repository, method, timer.getId().getTag("state"), snapshot.count(),
+                snapshot.mean(TimeUnit.MILLISECONDS), snapshot.max(TimeUnit.MILLISECONDS), percentiles,
+                resultSize == null ? null : resultSize.mean());
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class MethodSummary {
+        private final String repository;
+        private final String method;
+        private final String state;
+        private final long count;
+        private final double meanMs;
+        private final double maxMs;
+        private final Map<String, Double> percentilesMs;
+        private final Double meanResultSize;
+
+        private double slowest() {
+            return percentilesMs.getOrDefault("p99", maxMs);
+        }
+    }
+}
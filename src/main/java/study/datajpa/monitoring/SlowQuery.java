@@ -0,0 +1,32 @@
+package study.datajpa.monitoring;
+
+import java.time.Instant;
+
+import lombok.Getter;
+
+/**
+ * 느린 쿼리 1건
+ *  plan 은 EXPLAIN 이 비동기로 끝난 후 채워짐 (select 만, 실패 시 null)
+ */
+@Getter
+public class SlowQuery {
+
+    private final Instant executedAt;
+    private final long elapsedMillis;
+    private final String sql;
+    private final String sqlWithValues;
+    private final String repositoryMethod;
+    private volatile String plan;
+
+    SlowQuery(Instant executedAt, long elapsedMillis, String sql, String sqlWithValues, String repositoryMethod) {
+        this.executedAt = executedAt;
+        this.elapsedMillis = elapsedMillis;
+        this.sql = sql;
+        this.sqlWithValues = sqlWithValues;
+        this.repositoryMethod = repositoryMethod;
+    }
+
+    void setPlan(String plan) {
+        this.plan = plan;
+    }
+}
@@ -0,0 +1,31 @@
+package study.datajpa.monitoring;
+
+import java.util.List;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * /actuator/slowqueries - 최근 느린 쿼리 (최신순), DELETE 로 비우기
+ */
+@Component
+@Endpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryEndpoint {
+
+    private final SlowQueryListener slowQueryListener;
+
+    @ReadOperation
+    public List<SlowQuery> slowQueries() {
+        return slowQueryListener.getSlowQueries();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        slowQueryListener.clear();
+    }
+}
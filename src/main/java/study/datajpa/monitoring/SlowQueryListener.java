@@ -0,0 +1,168 @@
+package study.datajpa.monitoring;
+
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+import com.p6spy.engine.common.PreparedStatementInformation;
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 느린 쿼리 기록 (threshold 이상 걸린 sql 만 warn 로그)
+ *  - normalize sql, 바인딩 값이 들어간 sql, 실행한 리포지토리 메소드 (RepositoryMethodHolder)
+ *  - select 는 같은 DataSource 에 EXPLAIN 을 비동기 실행 (normalize sql 별로 한번만)
+ *    원래 sql (파라미터 ?) 을 PreparedStatement 로 실행하고 p6spy 가 보관한 바인딩 값을 그대로 바인딩
+ *    => 바인딩 값을 sql 문자열로 만들어 실행하지 않음 (sql injection, 문자열 / 날짜 / binary 변환 문제 x)
+ *  - 최근 bufferSize 건만 보관 => /actuator/slowqueries
+ *  JdbcTemplate 은 DataSource 생성 (p6spy 가 이 리스너를 주입) 이후에 꺼내 씀
+ */
+@Slf4j
+@Component
+public class SlowQueryListener extends SimpleJdbcEventListener {
+
+    // p6spy 는 바인딩 값을 문자열로 만든 sql 만 공개 (원래 값은 protected)
+    private static final Method PARAMETER_VALUES = ReflectionUtils.findMethod(PreparedStatementInformation.class, "getParameterValues");
+
+    static {
+        ReflectionUtils.makeAccessible(PARAMETER_VALUES);
+    }
+
+    private final long thresholdNanos;
+    private final int bufferSize;
+    private final boolean explain;
+    private final Executor executor;
+    private final ObjectProvider<JdbcTemplate> jdbcTemplate;
+
+    private final Deque<SlowQuery> slowQueries = new ArrayDeque<>();
+    private final Map<String, String> plans;
+
+    public SlowQueryListener(@Value("${datajpa.slow-query.threshold:100ms}") Duration threshold,
+                             @Value("${datajpa.slow-query.buffer-size:100}") int bufferSize,
+                             @Value("${datajpa.slow-query.explain:true}") boolean explain,
+                             @Qualifier("applicationTaskExecutor") Executor executor,
+                             ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        this.thresholdNanos = threshold.toNanos();
+        this.bufferSize = bufferSize;
+        this.explain = explain;
+        this.executor = executor;
+        this.jdbcTemplate = jdbcTemplate;
+        this.plans = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > bufferSize;
+            }
+        };
+    }
+
+    @Override
+    public void onAfterAnyExecute(StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+        if (timeElapsedNanos < thresholdNanos || statementInformation.getSql() == null) {
+            return;
+        }
+        String sql = QueryCount.normalize(statementInformation.getSql());
+        // EXPLAIN 자체가 느린 경우
+        if (sql.startsWith("explain")) {
+            return;
+        }
+
+        SlowQuery slowQuery = new SlowQuery(Instant.now(), TimeUnit.NANOSECONDS.toMillis(timeElapsedNanos), sql,
+                statementInformation.getSqlWithValues(), RepositoryMethodHolder.current());
+        log.warn("slow query {}ms [{}] {}", slowQuery.getElapsedMillis(), slowQuery.getRepositoryMethod(), slowQuery.getSqlWithValues());
+        synchronized (slowQueries) {
+            slowQueries.addFirst(slowQuery);
+            if (slowQueries.size() > bufferSize) {
+                slowQueries.removeLast();
+            }
+        }
+        if (explain && sql.startsWith("select")) {
+            explain(slowQuery, statementInformation.getSql(), parameters(statementInformation));
+        }
+    }
+
+    // 최신순
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (slowQueries) {
+            return List.copyOf(slowQueries);
+        }
+    }
+
+    public void clear() {
+        synchronized (slowQueries) {
+            slowQueries.clear();
+        }
+    }
+
+    // 바인딩 값 (PreparedStatement 만) - 실행 후 statement 가 재사용되기 전에 복사
+    @SuppressWarnings("unchecked")
+    private static Map<Integer, Object> parameters(StatementInformation statementInformation) {
+        Map<Integer, Object> parameters = new HashMap<>();
+        if (statementInformation instanceof PreparedStatementInformation) {
+            Map<Integer, com.p6spy.engine.common.Value> values =
+                    (Map<Integer, com.p6spy.engine.common.Value>) ReflectionUtils.invokeMethod(PARAMETER_VALUES, statementInformation);
+            values.forEach((index, value) -> parameters.put(index, value.getValue()));
+        }
+        return parameters;
+    }
+
+    private void explain(SlowQuery slowQuery, String sql, Map<Integer, Object> parameters) {
+        String plan;
+        synchronized (plans) {
+            plan = plans.get(slowQuery.getSql());
+        }
+        if (plan != null) {
+            slowQuery.setPlan(plan);
+            return;
+        }
+
+        CompletableFuture.runAsync(() -> {
+            String explained = jdbcTemplate.getObject().query("explain " + sql, ps -> {
+                for (Map.Entry<Integer, Object> parameter : parameters.entrySet()) {
+                    ps.setObject(parameter.getKey(), parameter.getValue());
+                }
+            }, (ResultSetExtractor<String>) this::readPlan);
+            slowQuery.setPlan(explained);
+            synchronized (plans) {
+                plans.put(slowQuery.getSql(), explained);
+            }
+        }, executor).exceptionally(e -> {
+            log.debug("explain 실패 : {}", slowQuery.getSql(), e);
+            return null;
+        });
+    }
+
+    private String readPlan(ResultSet rs) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        int columnCount = rs.getMetaData().getColumnCount();
+        while (rs.next()) {
+            for (int i = 1; i <= columnCount; i++) {
+                if (!plan.isEmpty()) {
+                    plan.append('\n');
+                }
+                plan.append(rs.getString(i));
+            }
+        }
+        return plan.toString();
+    }
+}
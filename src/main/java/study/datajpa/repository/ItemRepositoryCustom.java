@@ -0,0 +1,14 @@
+package study.datajpa.repository;
+
+import study.datajpa.entity.Item;
+
+public interface ItemRepositoryCustom {
+
+    /**
+     * id 가 이미 있으면 건너뛰고 없으면 insert (merge 문 jdbc batch) - 있는 row 는 수정하지 않음
+     *  save() 와 달리 엔티티를 먼저 select 하지 않고, 영속성 컨텍스트도 거치지 않음
+     *
+     * @return 실제로 insert 된 건수 (드라이버가 돌려준 update count 합)
+     */
+    int insertAllIfAbsent(Iterable<Item> items);
+}
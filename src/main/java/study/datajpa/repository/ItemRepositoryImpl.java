@@ -0,0 +1,59 @@
+package study.datajpa.repository;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import study.datajpa.entity.Item;
+
+@RequiredArgsConstructor
+public class ItemRepositoryImpl implements ItemRepositoryCustom {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final String INSERT_IF_ABSENT_SQL =
+            "merge into item t using (values (?, ?)) s(id, created_date) on t.id = s.id"
+            + " when not matched then insert (id, created_date) values (s.id, s.created_date)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Clock clock;
+
+    @Override
+    @Transactional
+    public int insertAllIfAbsent(Iterable<Item> items) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now(clock));
+        List<Item> batch = new ArrayList<>(BATCH_SIZE);
+        int count = 0;
+        for (Item item : items) {
+            batch.add(item);
+            if (batch.size() == BATCH_SIZE) {
+                count += executeBatch(batch, now);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            count += executeBatch(batch, now);
+        }
+        return count;
+    }
+
+    // 이미 있는 id 는 update count 0
+    private int executeBatch(List<Item> batch, Timestamp now) {
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT_IF_ABSENT_SQL, batch, batch.size(), (ps, item) -> {
+            ps.setString(1, item.getId());
+            ps.setTimestamp(2, now);
+        });
+        int inserted = 0;
+        for (int[] chunk : counts) {
+            for (int count : chunk) {
+                inserted += count;
+            }
+        }
+        return inserted;
+    }
+}
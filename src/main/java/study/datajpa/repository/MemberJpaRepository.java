@@ -1,25 +1,31 @@
 package study.datajpa.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import study.datajpa.entity.Member;
 
+// 조회는 읽기 전용 트랜잭션, 수정 메소드만 @Transactional (SimpleJpaRepository 와 동일)
 @Repository
+@Transactional(readOnly = true)
 public class MemberJpaRepository {
 
     @PersistenceContext
     private EntityManager em;
 
+    @Transactional
     public Member save(Member member) {
         em.persist(member);
         return member;
     }
 
+    @Transactional
     public void delete(Member member) {
         em.remove(member);
     }
@@ -60,6 +66,27 @@ public class MemberJpaRepository {
                     .getResultList();
 
     }
+
+    /**
+     * keyset(seek) 페이징 - 이전 페이지의 마지막 (username, id) 다음부터 limit 만큼 조회
+     *  첫 페이지는 lastUsername, lastId 를 null 로 호출
+     */
+    public List<Member> findByPageAfter(int age, String lastUsername, Long lastId, int limit) {
+        if (lastUsername == null || lastId == null) {
+            return em.createQuery("select m from Member m where m.age = :age order by m.username desc, m.id asc", Member.class)
+                        .setParameter("age", age)
+                        .setMaxResults(limit)
+                        .getResultList();
+        }
+        return em.createQuery("select m from Member m where m.age = :age"
+                        + " and (m.username < :username or (m.username = :username and m.id > :id))"
+                        + " order by m.username desc, m.id asc", Member.class)
+                    .setParameter("age", age)
+                    .setParameter("username", lastUsername)
+                    .setParameter("id", lastId)
+                    .setMaxResults(limit)
+                    .getResultList();
+    }
     
     public long totalCount(int age) {
         return em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
@@ -67,8 +94,39 @@ public class MemberJpaRepository {
                     .getSingleResult();
     }
 
+    /**
+     * id 가 afterId 보다 큰 수정 대상 id 를 id 순으로 limit 개 (chunk 단위 벌크 수정용)
+     */
+    public List<Long> findIdsForAgePlus(int age, long afterId, int limit) {
+        return em.createQuery("select m.id from Member m where m.id > :afterId and m.age >= :age order by m.id", Long.class)
+                    .setParameter("afterId", afterId)
+                    .setParameter("age", age)
+                    .setMaxResults(limit)
+                    .getResultList();
+    }
+
+    @Transactional
+    public int bulkAgePlus(List<Long> ids, int age) {
+        return em.createQuery("update versioned Member m set m.age = m.age + 1 where m.id in :ids and m.age >= :age")
+            .setParameter("ids", ids)
+            .setParameter("age", age)
+            .executeUpdate();
+    }
+
+    /**
+     * 현재 영속성 컨텍스트에서 해당 member 만 준영속 상태로 (em.clear() 처럼 전부 비우지 않음)
+     *  getReference 는 이미 영속 상태인 엔티티가 있으면 그 엔티티를 반환, 없으면 프록시 (select x)
+     */
+    public void detachAll(Collection<Long> ids) {
+        for (Long id : ids) {
+            em.detach(em.getReference(Member.class, id));
+        }
+    }
+
+    // versioned : 벌크 수정도 version 증가 => 동시에 수정 중인 엔티티는 낙관적 락 예외
+    @Transactional
     public int bulkAgePlus(int age) {
-        return em.createQuery("update Member m set m.age = m.age +  1 where m.age >= :age")
+        return em.createQuery("update versioned Member m set m.age = m.age +  1 where m.age >= :age")
             .setParameter("age", age)
             .executeUpdate();
     }
@@ -2,10 +2,14 @@ package study.datajpa.repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
@@ -13,13 +17,24 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 import study.datajpa.dto.MemberDTO;
 import study.datajpa.entity.Member;
-
-
+import study.datajpa.repository.support.MemberQueryCache;
+
+/**
+ * 쿼리 메소드는 기본으로 읽기 전용 트랜잭션 (SimpleJpaRepository 조회 메소드와 동일)
+ *  - flush mode MANUAL, 읽기 전용 세션 (스냅샷 x, 더티체킹 x), jdbc 커넥션 readOnly
+ *  - routing DataSource 사용 시 replica 에서 조회
+ *  - 이미 트랜잭션 안에서 호출하면 바깥 트랜잭션에 참여 (읽기 전용 설정 적용 x)
+ *  수정 / 락 조회 메소드는 @Transactional 로 opt-out
+ */
+@Transactional(readOnly = true)
 public interface MemberRepository extends JpaRepository<Member, Long>, MemberRepositoryCustom {
 
     List<Member> findByUsernameAndAgeGreaterThan(String username, int age);
@@ -37,6 +52,7 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
      *   오류 발생한 경우 오류 발생 시키고 어플리케이션 다운 됨.
      */ 
     @Query(name = "Member.findByUsername")  
+    @MemberQueryCache
     List<Member> findByUsername(@Param("username")  String username);
 
     /**
@@ -52,19 +68,53 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     @Query("select new study.datajpa.dto.MemberDTO(m.id, m.username, t.name) from Member m join m.team t")
     List<MemberDTO> findMemberDTO();
 
-    @Query("select m from Member m where m.username in :names")
-    List<Member> findByNames(@Param("names") List<String> names);
-
+    /**
+     * 대량 조회용 stream
+     *  - DTO 로 바로 조회 => 영속성 컨텍스트에 엔티티, 스냅샷이 쌓이지 않음 (detach 필요 x)
+     *  - fetch size 만큼씩 jdbc cursor 로 읽어옴
+     *  - 트랜잭션 안에서 사용하고 사용 후 반드시 close
+     */
+    @QueryHints(value = {
+        @QueryHint(name = "org.hibernate.fetchSize", value = "1000"),
+        @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("select new study.datajpa.dto.MemberDTO(m.id, m.username, t.name) from Member m left join m.team t")
+    Stream<MemberDTO> streamAllMemberDTO();
+
+    // 쿼리 캐시 (MemberQueryCache)
+    @MemberQueryCache
     List<Member> findListByUsername(String username);
+
+    @MemberQueryCache
     Member findOneByUsername(String username);
+
+    @MemberQueryCache
     Optional<Member> findOptionalByUsername(String username);
 
     Page<Member> findByAge(int age, Pageable pageable);
 
     Slice<Member> findSliceByAge(int age, Pageable pageable);
 
+    // 비동기 조회 - applicationTaskExecutor (virtual thread 모드에서는 virtual thread) 에서 실행
+    @Async
+    CompletableFuture<List<Member>> findAsyncByUsername(String username);
+
+    @Async
+    CompletableFuture<Page<Member>> findAsyncByAge(int age, Pageable pageable);
+
+    /**
+     * keyset(seek) 페이징
+     *  offset 대신 마지막으로 읽은 row 의 정렬 키 이후부터 조회 => 페이지 깊이와 상관없이 인덱스 seek 한번
+     *  ScrollPosition.keyset() 으로 첫 페이지, window.positionAt(...) 으로 다음 페이지 조회
+     */
+    Window<Member> findTop20ByOrderByUsernameDescIdAsc(ScrollPosition position);
+
+    Window<Member> findTop20ByOrderByIdAsc(ScrollPosition position);
+
+    // versioned : 벌크 수정도 version 증가 (낙관적 락)
+    @Transactional
     @Modifying(clearAutomatically = true)
-    @Query("update Member m set m.age = m.age + 1 where m.age >= :age")
+    @Query("update versioned Member m set m.age = m.age + 1 where m.age >= :age")
     int updateBulkAge(@Param("age") int age);
 
     @Query("select m from Member m left join fetch m.team")
@@ -85,11 +135,19 @@ public interface MemberRepository extends JpaRepository<Member, Long>, MemberRep
     List<Member> findMemberEntityGraph();
 
     // read only 는  dirty check(변경감지) x
+    // 읽기 전용 트랜잭션이 아닌 바깥 트랜잭션에 참여해도 이 조회 결과는 read only
     @QueryHints(value = @QueryHint(name = "org.hibernate.readOnly", value = "true"))
     Member findReadOnlyByUsername(String username);
 
+    // 기존 동작 유지 - 호출하는 쪽 트랜잭션에 참여, 직접 트랜잭션을 시작하지 않음 (클래스 레벨 읽기 전용 트랜잭션 x)
+    @Transactional(propagation = Propagation.SUPPORTS)
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     Member findOneLockByUsername(String name);
-}
 
- 
\ No newline at end of file
+    // lock 대기 시간 제한 (ms). 초과 시 LockTimeoutException => PessimisticLockingFailureException
+    // 락은 트랜잭션이 끝날 때 풀리므로 호출하는 쪽 트랜잭션 안에서만 사용 (MANDATORY)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(value = @QueryHint(name = "jakarta.persistence.lock.timeout", value = "3000"))
+    Member findOneLockTimeoutByUsername(String name);
+}
@@ -1,11 +1,61 @@
 package study.datajpa.repository;
 
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import study.datajpa.dto.MemberDTO;
 import study.datajpa.entity.Member;
 
 public interface MemberRepositoryCustom {
 
     List<Member> findMemberCustom();
+
+    /**
+     * username in 조회
+     *  names 가 많으면 일정 크기로 나눠서 조회 (쓰기 트랜잭션 밖이면 병렬), 중복 이름은 한번만 바인딩
+     */
+    List<Member> findByNames(List<String> names);
+
+    /**
+     * findByAge 와 동일한 결과
+     *  count 쿼리는 content 쿼리와 병렬 실행, 마지막 페이지면 생략 (시작 전이면 취소)
+     *  age 별 total 은 일정 시간 캐시 (읽기 전용 트랜잭션에서 구한 값만)
+     */
+    Page<Member> findPageByAge(int age, Pageable pageable);
+
+    Page<Member> findAllPage(Pageable pageable);
+
+    /**
+     * 엔티티 대신 DTO 로 바로 조회 (id, username, team.name 만 select)
+     *  영속성 컨텍스트 관리 대상 x => 스냅샷, 더티체킹 비용 없음. team 이 없는 member 도 포함 (left join)
+     */
+    Page<MemberDTO> findMemberDTOPage(Pageable pageable);
+
+    /**
+     * batchSize 단위로 jdbc batch insert 후 flush, 저장한 member 만 detach
+     *  호출 후 전달한 member 들은 준영속 상태가 됨 (영속성 컨텍스트의 다른 엔티티는 그대로)
+     */
+    int saveAllBatched(Iterable<Member> members, int batchSize);
+
+    /**
+     * 전체 member 를 한 건씩 action 에 전달 (대량 배치용)
+     *  StatelessSession + forward only 커서로 fetchSize 만큼씩 읽음
+     *  StatelessSession 은 별도 커넥션 사용 => 호출한 트랜잭션에서 커밋 전인 변경은 보이지 않음
+     *  => 영속성 컨텍스트, 스냅샷 x (메모리 일정, flush 시 더티체킹 x)
+     *  전달되는 member 는 준영속 상태. 지연 로딩 불가 (team 필요하면 DTO 조회)
+     *
+     * @return 처리한 건수
+     */
+    long scanAll(int fetchSize, Consumer<Member> action);
+
+    /**
+     * scanAll 의 Stream 버전
+     *  트랜잭션 안에서만 호출 가능하고 사용 후 반드시 close (try-with-resources)
+     */
+    Stream<Member> streamAll(int fetchSize);
     
 }
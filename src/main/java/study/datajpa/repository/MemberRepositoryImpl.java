@@ -1,20 +1,150 @@
 package study.datajpa.repository;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.Assert;
 
 import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import study.datajpa.dto.MemberDTO;
 import study.datajpa.entity.Member;
+import study.datajpa.repository.support.ChunkedInQueryExecutor;
+import study.datajpa.repository.support.PageCountExecutor;
 
 @RequiredArgsConstructor
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
     private final EntityManager em;
+    private final PageCountExecutor pageCountExecutor;
+    private final ChunkedInQueryExecutor chunkedInQueryExecutor;
 
     @Override
     public List<Member> findMemberCustom() {
         return em.createQuery("select m from Member m", Member.class)
                 .getResultList();
     }
-    
-         
+
+    @Override
+    public List<Member> findByNames(List<String> names) {
+        return chunkedInQueryExecutor.execute(names,
+                chunk -> em.createQuery("select m from Member m where m.username in :names", Member.class)
+                        .setParameter("names", chunk)
+                        .getResultList());
+    }
+
+    @Override
+    public Page<Member> findPageByAge(int age, Pageable pageable) {
+        return pageCountExecutor.getPage(pageable, "Member.age:" + age,
+                () -> em.createQuery(QueryUtils.applySorting("select m from Member m where m.age = :age", pageable.getSort(), "m"), Member.class)
+                        .setParameter("age", age)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(pageable.getPageSize())
+                        .getResultList(),
+                () -> em.createQuery("select count(m) from Member m where m.age = :age", Long.class)
+                        .setParameter("age", age)
+                        .getSingleResult());
+    }
+
+    @Override
+    public Page<Member> findAllPage(Pageable pageable) {
+        return pageCountExecutor.getPage(pageable, "Member.all",
+                () -> em.createQuery(QueryUtils.applySorting("select m from Member m", pageable.getSort(), "m"), Member.class)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(pageable.getPageSize())
+                        .getResultList(),
+                () -> em.createQuery("select count(m) from Member m", Long.class)
+                        .getSingleResult());
+    }
+
+    @Override
+    public Page<MemberDTO> findMemberDTOPage(Pageable pageable) {
+        String query = "select new study.datajpa.dto.MemberDTO(m.id, m.username, t.name)"
+                + " from Member m left join m.team t";
+        return pageCountExecutor.getPage(pageable, "Member.all",
+                () -> em.createQuery(QueryUtils.applySorting(query, pageable.getSort(), "m"), MemberDTO.class)
+                        .setFirstResult((int) pageable.getOffset())
+                        .setMaxResults(pageable.getPageSize())
+                        .getResultList(),
+                () -> em.createQuery("select count(m) from Member m", Long.class)
+                        .getSingleResult());
+    }
+
+    @Override
+    @Transactional
+    public int saveAllBatched(Iterable<Member> members, int batchSize) {
+        Assert.isTrue(batchSize > 0, "batchSize must be greater than 0");
+
+        Session session = em.unwrap(Session.class);
+        Integer originBatchSize = session.getJdbcBatchSize();
+        session.setJdbcBatchSize(batchSize);
+        try {
+            int count = 0;
+            List<Member> batch = new ArrayList<>(batchSize);
+            for (Member member : members) {
+                em.persist(member);
+                batch.add(member);
+                if (++count % batchSize == 0) {
+                    flushAndDetach(batch);
+                }
+            }
+            flushAndDetach(batch);
+            return count;
+        } finally {
+            session.setJdbcBatchSize(originBatchSize);
+        }
+    }
+
+    // 호출한 쪽 영속성 컨텍스트의 다른 엔티티는 유지 (em.clear() x)
+    private void flushAndDetach(List<Member> batch) {
+        em.flush();
+        batch.forEach(em::detach);
+        batch.clear();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long scanAll(int fetchSize, Consumer<Member> action) {
+        try (StatelessSession statelessSession = openStatelessSession();
+             ScrollableResults<Member> results = statelessSession.createQuery("select m from Member m", Member.class)
+                     .setFetchSize(fetchSize)
+                     .setReadOnly(true)
+                     .scroll(ScrollMode.FORWARD_ONLY)) {
+            long count = 0;
+            while (results.next()) {
+                action.accept(results.get());
+                count++;
+            }
+            return count;
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<Member> streamAll(int fetchSize) {
+        StatelessSession statelessSession = openStatelessSession();
+        return statelessSession.createQuery("select m from Member m", Member.class)
+                .setFetchSize(fetchSize)
+                .setReadOnly(true)
+                .getResultStream()
+                .onClose(statelessSession::close);
+    }
+
+    // 커넥션은 hibernate 가 DataSource 에서 얻고 session close 시 반납
+    //  호출한 트랜잭션이 readOnly 면 routing DataSource 는 replica 커넥션을 줌
+    private StatelessSession openStatelessSession() {
+        return em.getEntityManagerFactory().unwrap(SessionFactory.class).openStatelessSession();
+    }
+
 }
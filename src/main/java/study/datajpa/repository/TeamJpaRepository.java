@@ -4,22 +4,26 @@ import java.util.List;
 import java.util.Optional;
 
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import study.datajpa.entity.Team;
 
 @Repository
+@Transactional(readOnly = true)
 public class TeamJpaRepository {
 
     @PersistenceContext
     EntityManager em;
 
+    @Transactional
     public Team saveTeam(Team team) {
         em.persist(team);
         return team;
     }
 
+    @Transactional
     public void delete(Team team) {
         em.remove(team);
     }
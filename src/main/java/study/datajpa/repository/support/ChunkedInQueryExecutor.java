@@ -0,0 +1,99 @@
+package study.datajpa.repository.support;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * in 절 파라미터가 많은 경우 chunkSize 단위로 나눠서 조회 후 합치기
+ *  - chunkSize 는 2의 제곱수 => hibernate in_clause_parameter_padding 과 함께 sql 모양이 몇 개로 고정됨
+ *  - 트랜잭션 밖 or 읽기 전용 트랜잭션 (리포지토리 조회 메소드 기본) 이면 chunk 들을 병렬 실행
+ *    각 chunk 는 executor 스레드의 별도 읽기 전용 트랜잭션 (별도 커넥션, 영속성 컨텍스트) 에서 조회
+ *    => 호출한 트랜잭션의 영속성 컨텍스트에 포함되지 않은 (준영속) 엔티티가 섞여서 반환됨
+ *  - 쓰기 트랜잭션 안에서는 flush 되지 않은 변경을 보고 같은 영속성 컨텍스트를 써야 하므로 순차 실행
+ *  - 아직 시작하지 않은 chunk 는 (executor 포화) 호출 스레드가 가져와서 직접 실행
+ *    chunk 스레드가 커넥션을 얻지 못하면 (풀 고갈) 호출 스레드에서 다시 실행 => 커넥션을 잡은 채 무한 대기 x
+ */
+@Component
+public class ChunkedInQueryExecutor {
+
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int chunkSize;
+
+    public ChunkedInQueryExecutor(@Qualifier("applicationTaskExecutor") Executor executor,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${datajpa.in-query.chunk-size:1024}") int chunkSize) {
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.chunkSize = chunkSize;
+    }
+
+    public <K, T> List<T> execute(Collection<K> keys, Function<List<K>, List<T>> query) {
+        List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        if (distinct.size() <= chunkSize) {
+            return query.apply(distinct);
+        }
+
+        List<List<K>> chunks = new ArrayList<>();
+        for (int i = 0; i < distinct.size(); i += chunkSize) {
+            chunks.add(distinct.subList(i, Math.min(i + chunkSize, distinct.size())));
+        }
+
+        List<T> result = new ArrayList<>();
+        if (!isReadOnlyOrNonTransactional()) {
+            for (List<K> chunk : chunks) {
+                result.addAll(query.apply(chunk));
+            }
+            return result;
+        }
+
+        // chunk 실행 권한 - executor 스레드, 호출 스레드 중 먼저 가져간 쪽만 실행
+        List<AtomicBoolean> claims = new ArrayList<>();
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>();
+        for (List<K> chunk : chunks) {
+            AtomicBoolean claimed = new AtomicBoolean();
+            claims.add(claimed);
+            futures.add(CompletableFuture.supplyAsync(() -> claimed.compareAndSet(false, true)
+                    ? readOnlyTransaction.execute(status -> query.apply(chunk))
+                    : null, executor));
+        }
+        for (int i = 0; i < chunks.size(); i++) {
+            result.addAll(claims.get(i).compareAndSet(false, true)
+                    ? query.apply(chunks.get(i))
+                    : join(futures.get(i), chunks.get(i), query));
+        }
+        return result;
+    }
+
+    private static <K, T> List<T> join(CompletableFuture<List<T>> future, List<K> chunk, Function<List<K>, List<T>> query) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CannotCreateTransactionException) {
+                return query.apply(chunk);
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static boolean isReadOnlyOrNonTransactional() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+}
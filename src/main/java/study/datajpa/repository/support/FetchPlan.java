@@ -0,0 +1,20 @@
+package study.datajpa.repository.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * 엔드포인트 fetch plan - 트랜잭션이 끝나기 전에 초기화할 연관관계 경로 (예 : "team", "team.members")
+ *  open-in-view 를 끈 상태에서 응답을 만들 때 접근하는 lazy 연관관계를 컨트롤러 메소드에 선언
+ *  선언하지 않은 연관관계를 트랜잭션 밖에서 접근하면 LazyInitializationException
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface FetchPlan {
+
+    String[] value();
+}
@@ -0,0 +1,33 @@
+package study.datajpa.repository.support;
+
+import java.util.List;
+
+/**
+ * 현재 스레드 (요청) 의 fetch plan 연관관계 경로
+ *  FetchPlanAspect 가 @FetchPlan 메소드 실행 동안 설정
+ */
+public abstract class FetchPlanHolder {
+
+    private static final ThreadLocal<List<String>> CURRENT = new ThreadLocal<>();
+
+    public static List<String> current() {
+        return CURRENT.get();
+    }
+
+    public static void set(String... attributePaths) {
+        CURRENT.set(List.of(attributePaths));
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    // 바깥 fetch plan 으로 되돌리기 (없으면 제거)
+    public static void restore(List<String> outer) {
+        if (outer == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(outer);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package study.datajpa.repository.support;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * fetch plan 적용 - 트랜잭션 commit 직전에 리포지토리가 반환한 엔티티에서 fetch plan 경로의 연관관계 초기화
+ *  default_batch_fetch_size 로 같은 타입 프록시는 in (...) 으로 묶어서 조회
+ *  spring data 리포지토리 호출 결과를 등록 (FetchPlanConfig), synchronization 은 트랜잭션 당 하나
+ *  영속성 컨텍스트의 다른 엔티티 (다른 조회, 초기화 중 로딩된 엔티티) 는 순회하지 않음
+ */
+@Component
+@RequiredArgsConstructor
+public class FetchPlanInitializer {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void register(Object result) {
+        List<String> attributePaths = FetchPlanHolder.current();
+        if (attributePaths == null || result == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        FetchPlanSynchronization synchronization = TransactionSynchronizationManager.getSynchronizations().stream()
+                .filter(FetchPlanSynchronization.class::isInstance)
+                .map(FetchPlanSynchronization.class::cast)
+                .findFirst()
+                .orElseGet(() -> {
+                    FetchPlanSynchronization registered = new FetchPlanSynchronization(attributePaths);
+                    TransactionSynchronizationManager.registerSynchronization(registered);
+                    return registered;
+                });
+        synchronization.add(result);
+    }
+
+    private void initialize(List<String> attributePaths, Collection<Object> roots) {
+        EntityManager em = EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory);
+        if (em == null) {
+            return;
+        }
+        SessionImplementor session = em.unwrap(SessionImplementor.class);
+        for (Object root : roots) {
+            Object entity = Hibernate.unproxy(root);
+            // 이 트랜잭션의 영속성 컨텍스트에 있는 엔티티만 (DTO, 준영속 엔티티 제외)
+            if (session.getPersistenceContextInternal().getEntry(entity) == null) {
+                continue;
+            }
+            for (String attributePath : attributePaths) {
+                initialize(session, entity, attributePath.split("\\."), 0);
+            }
+        }
+    }
+    private void initialize(SessionImplementor session, Object entity, String[] path, int index) {
+        EntityPersister persister = session.getEntityPersister(null, entity);
+        // 경로의 속성이 없는 엔티티 타입은 건너뜀
+        if (persister.getEntityMetamodel().getPropertyIndexOrNull(path[index]) == null) {
+            return;
+        }
+        Object value = persister.getPropertyValue(entity, path[index]);
+        if (value == null) {
+            return;
+        }
+        Hibernate.initialize(value);
+        if (index + 1 == path.length) {
+            return;
+        }
+        if (value instanceof Collection<?> collection) {
+            for (Object element : collection) {
+                initialize(session, Hibernate.unproxy(element), path, index + 1);
+            }
+        } else {
+            initialize(session, Hibernate.unproxy(value), path, index + 1);
+        }
+    }
+
+    private class FetchPlanSynchronization implements TransactionSynchronization {
+        private final List<String> attributePaths;
+        private final Set<Object> roots = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        FetchPlanSynchronization(List<String> attributePaths) {
+            this.attributePaths = attributePaths;
+        }
+
+        // 리포지토리 반환 타입 (컬렉션, Slice, Window, Optional, 엔티티 1건). Stream, 비동기 결과는 제외
+        void add(Object result) {
+            if (result instanceof Collection<?> collection) {
+                roots.addAll(collection);
+            } else if (result instanceof Slice<?> slice) {
+                roots.addAll(slice.getContent());
+            } else if (result instanceof Window<?> window) {
+                roots.addAll(window.getContent());
+            } else if (result instanceof Optional<?> optional) {
+                optional.ifPresent(roots::add);
+            } else if (!(result instanceof Stream<?>) && !(result instanceof Future<?>)) {
+                roots.add(result);
+            }
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            initialize(attributePaths, roots);
+        }
+    }
+}
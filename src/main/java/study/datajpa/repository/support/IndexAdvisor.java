@@ -0,0 +1,311 @@
+package study.datajpa.repository.support;
+
+import java.lang.reflect.Method;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.NamedQuery;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 리포지토리 쿼리 메소드 기준 인덱스 점검
+ *  - 쿼리 메소드 이름 (PartTree), @Query / 네임드 쿼리 JPQL 에서 where, order by 컬럼 추출
+ *  - equality => sort => range 순서로 복합 인덱스 후보를 만들고 DB 인덱스 (앞쪽 컬럼 일치) 와 비교
+ *  - 없는 인덱스는 기동 완료 시 DDL, @Index 정의와 함께 로그 출력만 (DB 에 직접 생성 x => 엔티티 @Index 에 반영)
+ *  - 기본 off (datajpa.index-advisor.enabled=true 로 켬) - 개발 중 쿼리 메소드를 추가했을 때 점검용
+ *  Pageable 의 동적 정렬, native query, 커스텀 구현 메소드는 분석하지 않음
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "datajpa.index-advisor.enabled", havingValue = "true")
+public class IndexAdvisor {
+
+    private static final Set<Part.Type> EQUALITY = EnumSet.of(
+            Part.Type.SIMPLE_PROPERTY, Part.Type.IN, Part.Type.IS_NULL, Part.Type.TRUE, Part.Type.FALSE);
+    private static final Set<Part.Type> RANGE = EnumSet.of(
+            Part.Type.GREATER_THAN, Part.Type.GREATER_THAN_EQUAL, Part.Type.LESS_THAN, Part.Type.LESS_THAN_EQUAL,
+            Part.Type.BETWEEN, Part.Type.BEFORE, Part.Type.AFTER, Part.Type.STARTING_WITH);
+
+    private static final Pattern ROOT = Pattern.compile(
+            "\\b(?:from|update(?:\\s+versioned)?)\\s+(\\w+)\\s+(?:as\\s+)?(\\w+)", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHERE = Pattern.compile(
+            "\\bwhere\\b(.*?)(?:\\border\\s+by\\b|\\bgroup\\s+by\\b|$)", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern ORDER_BY = Pattern.compile(
+            "\\border\\s+by\\b(.*)$", Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern BETWEEN = Pattern.compile(
+            "\\bbetween\\s+(\\S+)\\s+and\\s+", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> KEYWORDS = Set.of("where", "set", "join", "left", "inner", "order", "group");
+
+    private final ListableBeanFactory beanFactory;
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    public IndexAdvisor(ListableBeanFactory beanFactory,
+                        EntityManagerFactory entityManagerFactory,
+                        JdbcTemplate jdbcTemplate) {
+        this.beanFactory = beanFactory;
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void report() {
+        List<IndexRecommendation> recommendations = analyze();
+        if (recommendations.isEmpty()) {
+            log.info("index advisor : 누락된 인덱스 없음");
+            return;
+        }
+
+        for (IndexRecommendation recommendation : recommendations) {
+            log.warn("index advisor : {} ({}) 인덱스 없음 <= {}\n    {};\n    {}",
+                    recommendation.getTable(), String.join(", ", recommendation.getColumns()),
+                    recommendation.getSources(), recommendation.toDdl(), recommendation.toIndexAnnotation());
+        }
+    }
+
+    public List<IndexRecommendation> analyze() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        Map<String, IndexRecommendation> recommendations = new LinkedHashMap<>();
+        Map<String, List<List<String>>> indexes = new HashMap<>();
+
+        Repositories repositories = new Repositories(beanFactory);
+        for (Class<?> domainType : repositories) {
+            RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+            for (Method method : information.getQueryMethods()) {
+                String source = information.getRepositoryInterface().getSimpleName() + "." + method.getName();
+                List<IndexRecommendation> candidates;
+                try {
+                    candidates = candidates(sessionFactory, domainType, method);
+                } catch (RuntimeException e) {
+                    log.debug("index advisor : {} 분석 불가", source, e);
+                    continue;
+                }
+
+                for (IndexRecommendation candidate : candidates) {
+                    List<List<String>> existing = indexes.computeIfAbsent(candidate.getTable(), this::existingIndexes);
+                    if (covered(existing, candidate.getColumns())) {
+                        continue;
+                    }
+                    recommendations.computeIfAbsent(candidate.getTable() + candidate.getColumns(), key -> candidate)
+                            .addSource(source);
+                }
+            }
+        }
+        return List.copyOf(recommendations.values());
+    }
+
+    private List<IndexRecommendation> candidates(SessionFactoryImplementor sessionFactory, Class<?> domainType, Method method) {
+        Query query = method.getAnnotation(Query.class);
+        if (query != null && query.nativeQuery()) {
+            return List.of();
+        }
+
+        String jpql = query != null && StringUtils.hasText(query.value()) ? query.value()
+                : namedQuery(domainType, query != null && StringUtils.hasText(query.name())
+                        ? query.name() : domainType.getSimpleName() + "." + method.getName());
+        if (jpql != null) {
+            return fromJpql(sessionFactory, jpql);
+        }
+        return fromPartTree(sessionFactory, domainType, method.getName());
+    }
+
+    private String namedQuery(Class<?> domainType, String name) {
+        for (NamedQuery namedQuery : domainType.getAnnotationsByType(NamedQuery.class)) {
+            if (namedQuery.name().equals(name)) {
+                return namedQuery.query();
+            }
+        }
+        return null;
+    }
+
+    // findByUsernameAndAgeGreaterThan => username (equality), age (range)
+    private List<IndexRecommendation> fromPartTree(SessionFactoryImplementor sessionFactory, Class<?> domainType, String methodName) {
+        PartTree tree = new PartTree(methodName, domainType);
+        AbstractEntityPersister persister = persister(sessionFactory, domainType);
+        List<Sort.Order> orders = tree.getSort().toList();
+
+        List<IndexRecommendation> result = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            List<String> equality = new ArrayList<>();
+            List<String> range = new ArrayList<>();
+            for (Part part : orPart) {
+                if (EQUALITY.contains(part.getType())) {
+                    equality.add(part.getProperty().toDotPath());
+                } else if (RANGE.contains(part.getType())) {
+                    range.add(part.getProperty().toDotPath());
+                }
+            }
+            addCandidate(result, persister, equality, range, orders);
+        }
+        // findTop20ByOrderByIdAsc 처럼 조건 없이 정렬만 있는 경우
+        if (!tree.iterator().hasNext()) {
+            addCandidate(result, persister, List.of(), List.of(), orders);
+        }
+        return result;
+    }
+
+    // 루트 엔티티 alias 의 and 조건, order by 만 분석 (or 조건은 제외)
+    private List<IndexRecommendation> fromJpql(SessionFactoryImplementor sessionFactory, String jpql) {
+        Matcher root = ROOT.matcher(jpql);
+        if (!root.find() || KEYWORDS.contains(root.group(2).toLowerCase())) {
+            return List.of();
+        }
+        Class<?> entityType = entityType(root.group(1));
+        if (entityType == null) {
+            return List.of();
+        }
+        String alias = Pattern.quote(root.group(2));
+        Pattern predicate = Pattern.compile(
+                "^\\(?\\s*" + alias + "\\.([\\w.]+)\\s*(=|>=|<=|>|<|in\\b|between\\b|is\\s+null\\b)",
+                Pattern.CASE_INSENSITIVE);
+        Pattern order = Pattern.compile("^\\s*" + alias + "\\.([\\w.]+)(?:\\s+(asc|desc))?\\s*$", Pattern.CASE_INSENSITIVE);
+
+        List<String> equality = new ArrayList<>();
+        List<String> range = new ArrayList<>();
+        Matcher where = WHERE.matcher(jpql);
+        if (where.find()) {
+            String conditions = BETWEEN.matcher(where.group(1)).replaceAll("between $1 , ");
+            for (String condition : conditions.trim().split("(?i)\\s+and\\s+")) {
+                Matcher matcher = predicate.matcher(condition.trim());
+                if (condition.matches("(?is).*\\bor\\b.*") || !matcher.find()) {
+                    continue;
+                }
+                String operator = matcher.group(2).toLowerCase();
+                if (operator.equals("=") || operator.equals("in") || operator.startsWith("is")) {
+                    equality.add(matcher.group(1));
+                } else {
+                    range.add(matcher.group(1));
+                }
+            }
+        }
+
+        List<Sort.Order> orders = new ArrayList<>();
+        Matcher orderBy = ORDER_BY.matcher(jpql);
+        if (orderBy.find()) {
+            for (String item : orderBy.group(1).split(",")) {
+                Matcher matcher = order.matcher(item);
+                if (matcher.find()) {
+                    orders.add("desc".equalsIgnoreCase(matcher.group(2))
+                            ? Sort.Order.desc(matcher.group(1)) : Sort.Order.asc(matcher.group(1)));
+                }
+            }
+        }
+
+        List<IndexRecommendation> result = new ArrayList<>();
+        addCandidate(result, persister(sessionFactory, entityType), equality, range, orders);
+        return result;
+    }
+
+    // equality => sort => range (range 컬럼 이후는 인덱스 seek 에 사용되지 않음)
+    private void addCandidate(List<IndexRecommendation> result, AbstractEntityPersister persister,
+                              List<String> equality, List<String> range, List<Sort.Order> orders) {
+        List<String> columns = new ArrayList<>();
+        for (String path : equality) {
+            addColumns(columns, persister, path, false);
+        }
+        for (Sort.Order order : orders) {
+            addColumns(columns, persister, order.getProperty(), order.isDescending());
+        }
+        if (!range.isEmpty()) {
+            addColumns(columns, persister, range.get(0), false);
+        }
+
+        // 식별자만 사용 => PK 인덱스
+        if (columns.isEmpty() || columns.equals(List.of(persister.getIdentifierColumnNames()))) {
+            return;
+        }
+        result.add(new IndexRecommendation(persister.getTableName(), columns));
+    }
+
+    private void addColumns(List<String> columns, AbstractEntityPersister persister, String path, boolean descending) {
+        for (String column : columnNames(persister, path)) {
+            String name = column.toLowerCase();
+            if (columns.contains(name) || columns.contains(name + " desc")) {
+                continue;
+            }
+            columns.add(descending ? name + " desc" : name);
+        }
+    }
+
+    private String[] columnNames(AbstractEntityPersister persister, String path) {
+        if (path.equals(persister.getIdentifierPropertyName())) {
+            return persister.getIdentifierColumnNames();
+        }
+        // team.id => team_id (FK 컬럼)
+        if (path.endsWith(".id")) {
+            path = path.substring(0, path.length() - ".id".length());
+        }
+        return persister.getPropertyColumnNames(path);
+    }
+
+    private AbstractEntityPersister persister(SessionFactoryImplementor sessionFactory, Class<?> entityType) {
+        return (AbstractEntityPersister) sessionFactory.getMappingMetamodel().getEntityDescriptor(entityType);
+    }
+
+    private Class<?> entityType(String entityName) {
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            if (entity.getName().equals(entityName)) {
+                return entity.getJavaType();
+            }
+        }
+        return null;
+    }
+
+    // 인덱스 순서대로 앞쪽 컬럼이 후보와 같으면 사용 가능 (정렬 방향은 역방향 스캔 가능하므로 무시)
+    private boolean covered(List<List<String>> indexes, List<String> columns) {
+        List<String> names = columns.stream().map(column -> column.replace(" desc", "")).toList();
+        return indexes.stream()
+                .anyMatch(index -> index.size() >= names.size() && index.subList(0, names.size()).equals(names));
+    }
+
+    private List<List<String>> existingIndexes(String table) {
+        return jdbcTemplate.execute((ConnectionCallback<List<List<String>>>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase()
+                    : metaData.storesLowerCaseIdentifiers() ? table.toLowerCase() : table;
+
+            Map<String, TreeMap<Short, String>> indexes = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(connection.getCatalog(), null, tableName, false, true)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName == null || column == null) {
+                        continue;
+                    }
+                    indexes.computeIfAbsent(indexName, key -> new TreeMap<>())
+                            .put(rs.getShort("ORDINAL_POSITION"), column.toLowerCase());
+                }
+            }
+            return indexes.values().stream().map(index -> List.copyOf(index.values())).toList();
+        });
+    }
+}
@@ -0,0 +1,45 @@
+package study.datajpa.repository.support;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import lombok.Getter;
+
+/**
+ * 없는 인덱스 후보
+ *  columns : 인덱스 컬럼 순서대로, 내림차순 정렬 컬럼은 "username desc"
+ *  sources : 이 인덱스를 사용할 리포지토리 메소드 (Repository.method)
+ */
+@Getter
+public class IndexRecommendation {
+
+    private final String table;
+    private final List<String> columns;
+    private final Set<String> sources = new LinkedHashSet<>();
+
+    IndexRecommendation(String table, List<String> columns) {
+        this.table = table;
+        this.columns = List.copyOf(columns);
+    }
+
+    void addSource(String source) {
+        sources.add(source);
+    }
+
+    public String getIndexName() {
+        return "idx_" + table + "_" + columns.stream()
+                .map(column -> column.replace(' ', '_'))
+                .collect(Collectors.joining("_"));
+    }
+
+    public String toDdl() {
+        return "create index " + getIndexName() + " on " + table + " (" + String.join(", ", columns) + ")";
+    }
+
+    // ddl-auto 로 생성하려면 엔티티 @Table(indexes = ...) 에 추가
+    public String toIndexAnnotation() {
+        return "@Index(name = \"" + getIndexName() + "\", columnList = \"" + String.join(", ", columns) + "\")";
+    }
+}
@@ -0,0 +1,30 @@
+package study.datajpa.repository.support;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.QueryHint;
+
+/**
+ * 쿼리 캐시 (hibernate query cache) - member 조회 리포지토리 메소드에 선언
+ *  - 메소드 (sql) + 파라미터 별로 결과 id 목록을 캐시, 엔티티는 2차 캐시에서 조회
+ *  - member 테이블에 insert / update / delete, 벌크 연산이 커밋되면 member 를 조회하는 캐시 결과 무효화
+ *  - region 크기, ttl 은 ehcache.xml
+ * spring data jpa 가 @QueryHints 를 메타 어노테이션으로 읽음 => hint, region 은 여기서만 정의
+ */
+@Target({ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@QueryHints(value = {
+    @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+    @QueryHint(name = "org.hibernate.cacheRegion", value = MemberQueryCache.REGION)
+})
+public @interface MemberQueryCache {
+
+    String REGION = "query.member.username";
+}
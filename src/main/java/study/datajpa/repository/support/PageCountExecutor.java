@@ -0,0 +1,183 @@
+package study.datajpa.repository.support;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Page 조회 시 count 쿼리 비용 줄이기
+ *  1. content 만으로 전체 개수를 알 수 있으면 (첫 페이지 or 마지막 페이지) count 쿼리 생략
+ *  2. cacheKey 별로 ttl 동안 total 을 캐시 (ttl 만큼 오래된 값일 수 있음, 쓰기 시 무효화 x)
+ *     쓰기 트랜잭션 안의 count 는 커밋 전 / 롤백될 변경이 포함될 수 있으므로 캐시 조회, 저장 x
+ *  3. 캐시가 없으면 content 조회와 동시에 다른 스레드의 읽기 전용 트랜잭션 (별도 커넥션) 에서 count 쿼리 실행
+ *     - 쓰기 트랜잭션 안이면 flush 되지 않은 변경을 다른 커넥션에서 볼 수 없으므로 순차 실행
+ *     - content 로 total 을 알 수 있는데 count 가 아직 시작 전이면 취소 (1번과 같이 생략으로 기록)
+ *     - content 조회가 끝났는데 count 가 아직 시작 전이면 (executor 포화) 호출 스레드에서 직접 실행
+ *     - count 스레드가 커넥션을 얻지 못하면 (풀 고갈) 호출 스레드의 커넥션으로 다시 실행
+ *       => 호출 스레드가 커넥션을 잡은 채 기다려도 무한 대기 (deadlock) x, 최대 커넥션 획득 timeout 까지
+ */
+@Component
+public class PageCountExecutor {
+
+    private final Executor executor;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Duration ttl;
+    private final int maxSize;
+    private final boolean parallel;
+    private final Map<Object, CachedCount> cache = new ConcurrentHashMap<>();
+
+    private final Counter executed;
+    private final Counter avoidedByContent;
+    private final Counter avoidedByCache;
+
+    public PageCountExecutor(@Qualifier("applicationTaskExecutor") Executor executor,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${datajpa.paging.count-cache.ttl:5s}") Duration ttl,
+                             @Value("${datajpa.paging.count-cache.max-size:1000}") int maxSize,
+                             @Value("${datajpa.paging.parallel-count:true}") boolean parallel) {
+        this.executor = executor;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ttl = ttl;
+        this.maxSize = maxSize;
+        this.parallel = parallel;
+
+        this.executed = Counter.builder("datajpa.paging.count")
+                .tag("result", "executed")
+                .register(meterRegistry);
+        this.avoidedByContent = Counter.builder("datajpa.paging.count")
+                .tag("result", "avoided-content")
+                .register(meterRegistry);
+        this.avoidedByCache = Counter.builder("datajpa.paging.count")
+                .tag("result", "avoided-cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param cacheKey 필터 조건 (ex. age) 별 캐시 키. null 이면 캐시 사용 x
+     */
+    public <T> Page<T> getPage(Pageable pageable, Object cacheKey, Supplier<List<T>> contentQuery, LongSupplier countQuery) {
+        if (pageable.isUnpaged()) {
+            List<T> content = contentQuery.get();
+            return new PageImpl<>(content, pageable, content.size());
+        }
+
+        boolean cacheable = cacheKey != null && isCacheable();
+        Long cachedTotal = cacheable ? lookup(cacheKey) : null;
+        // count 실행 권한 - 병렬 count 스레드, 호출 스레드 (직접 실행 or 취소) 중 먼저 가져간 쪽만 실행
+        AtomicBoolean countClaimed = new AtomicBoolean();
+        CompletableFuture<Long> parallelCount = null;
+        if (cachedTotal == null && canRunInParallel()) {
+            parallelCount = CompletableFuture.supplyAsync(() -> countClaimed.compareAndSet(false, true)
+                    ? readOnlyTransaction.execute(status -> count(countQuery))
+                    : null, executor);
+        }
+
+        List<T> content = contentQuery.get();
+
+        AtomicBoolean totalRequired = new AtomicBoolean();
+        CompletableFuture<Long> pendingCount = parallelCount;
+        Page<T> page = PageableExecutionUtils.getPage(content, pageable, () -> {
+            totalRequired.set(true);
+            if (cachedTotal != null) {
+                avoidedByCache.increment();
+                return cachedTotal;
+            }
+            long total = pendingCount == null || countClaimed.compareAndSet(false, true)
+                    ? count(countQuery)
+                    : join(pendingCount, countQuery);
+            if (cacheable) {
+                store(cacheKey, total);
+            }
+            return total;
+        });
+
+        if (!totalRequired.get()
+                && (pendingCount == null || countClaimed.compareAndSet(false, true))) {
+            avoidedByContent.increment();
+        }
+        return page;
+    }
+
+    private long join(CompletableFuture<Long> parallelCount, LongSupplier countQuery) {
+        try {
+            return parallelCount.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof CannotCreateTransactionException) {
+                return count(countQuery);
+            }
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private long count(LongSupplier countQuery) {
+        executed.increment();
+        return countQuery.getAsLong();
+    }
+
+    // 트랜잭션 밖 or 읽기 전용 트랜잭션 (count 스레드가 호출 스레드와 같은 커밋된 데이터를 봄)
+    private boolean canRunInParallel() {
+        return parallel && isReadOnlyOrNonTransactional();
+    }
+
+    // 읽기 전용 트랜잭션 or 트랜잭션 밖에서 구한 total 만 캐시
+    private boolean isCacheable() {
+        return isReadOnlyOrNonTransactional();
+    }
+
+    private static boolean isReadOnlyOrNonTransactional() {
+        return !TransactionSynchronizationManager.isActualTransactionActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private Long lookup(Object cacheKey) {
+        CachedCount cached = cache.get(cacheKey);
+        if (cached == null) {
+            return null;
+        }
+        if (cached.isExpired()) {
+            cache.remove(cacheKey, cached);
+            return null;
+        }
+        return cached.total();
+    }
+
+    private void store(Object cacheKey, long total) {
+        if (cache.size() >= maxSize) {
+            cache.values().removeIf(CachedCount::isExpired);
+            if (cache.size() >= maxSize) {
+                return;
+            }
+        }
+        cache.put(cacheKey, new CachedCount(total, System.nanoTime() + ttl.toNanos()));
+    }
+
+    private record CachedCount(long total, long expiresAt) {
+        boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
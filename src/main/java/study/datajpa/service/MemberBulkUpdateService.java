@@ -0,0 +1,73 @@
+package study.datajpa.service;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import lombok.extern.slf4j.Slf4j;
+import study.datajpa.dto.BulkUpdateProgress;
+import study.datajpa.repository.MemberJpaRepository;
+
+/**
+ * chunk 단위 벌크 수정 (updateBulkAge / bulkAgePlus 의 대량 데이터 버전)
+ *  - 수정 대상 id 를 id 순으로 chunkSize 개씩 잘라서 chunk 마다 별도 트랜잭션으로 커밋
+ *    => 한번에 테이블 전체 row lock, 대량 undo log 가 생기지 않음
+ *  - 중간에 실패하면 마지막 진행 상황의 lastId 부터 다시 실행 가능
+ *  - 호출한 쪽 영속성 컨텍스트는 clear 하지 않고 수정된 member 만 detach
+ *
+ * chunk 트랜잭션은 별도 커넥션이므로 호출한 쪽 트랜잭션에서 아직 커밋하지 않은 변경은 보이지 않음
+ */
+@Slf4j
+@Service
+public class MemberBulkUpdateService {
+
+    private final MemberJpaRepository memberJpaRepository;
+    private final TransactionTemplate chunkTransaction;
+
+    public MemberBulkUpdateService(MemberJpaRepository memberJpaRepository, PlatformTransactionManager transactionManager) {
+        this.memberJpaRepository = memberJpaRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public BulkUpdateProgress bulkAgePlus(int age, int chunkSize) {
+        return bulkAgePlus(age, chunkSize, 0L, progress -> { });
+    }
+
+    public BulkUpdateProgress bulkAgePlus(int age, int chunkSize, long startAfterId, Consumer<BulkUpdateProgress> listener) {
+        Assert.isTrue(chunkSize > 0, "chunkSize must be greater than 0");
+
+        BulkUpdateProgress progress = new BulkUpdateProgress(0, startAfterId, 0);
+        while (true) {
+            long afterId = progress.getLastId();
+            ChunkResult chunk = chunkTransaction.execute(status -> {
+                List<Long> ids = memberJpaRepository.findIdsForAgePlus(age, afterId, chunkSize);
+                int updated = ids.isEmpty() ? 0 : memberJpaRepository.bulkAgePlus(ids, age);
+                return new ChunkResult(ids, updated);
+            });
+            if (chunk.ids().isEmpty()) {
+                return progress;
+            }
+
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                memberJpaRepository.detachAll(chunk.ids());
+            }
+
+            progress = new BulkUpdateProgress(
+                    progress.getUpdatedCount() + chunk.updated(),
+                    chunk.ids().get(chunk.ids().size() - 1),
+                    progress.getChunkCount() + 1);
+            log.debug("bulk age plus {}", progress);
+            listener.accept(progress);
+        }
+    }
+
+    private record ChunkResult(List<Long> ids, int updated) {
+    }
+}
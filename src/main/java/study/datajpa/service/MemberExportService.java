@@ -0,0 +1,53 @@
+package study.datajpa.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import study.datajpa.dto.MemberDTO;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * 전체 회원을 NDJSON (한 줄에 json 하나) 으로 내보내기
+ *  List 로 한번에 올리지 않고 jdbc cursor 로 읽으면서 바로 응답에 쓰기 때문에 회원 수와 상관없이 메모리 일정
+ */
+@Service
+public class MemberExportService {
+
+    private static final int FLUSH_INTERVAL = 1000;
+
+    private final MemberRepository memberRepository;
+    private final ObjectWriter writer;
+
+    public MemberExportService(MemberRepository memberRepository, ObjectMapper objectMapper) {
+        this.memberRepository = memberRepository;
+        this.writer = objectMapper.writerFor(MemberDTO.class);
+    }
+
+    // stream 을 다 읽을 때 까지 커넥션 + 트랜잭션이 유지되어야 함
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        OutputStream out = new BufferedOutputStream(outputStream);
+        long count = 0;
+        try (Stream<MemberDTO> members = memberRepository.streamAllMemberDTO()) {
+            Iterator<MemberDTO> iterator = members.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                if (++count % FLUSH_INTERVAL == 0) {
+                    out.flush();
+                }
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
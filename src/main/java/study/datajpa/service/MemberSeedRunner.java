@@ -0,0 +1,48 @@
+package study.datajpa.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+/**
+ * 샘플 데이터 적재
+ *  기존에는 컨트롤러 @PostConstruct 에서 적재 => 적재가 끝날 때 까지 어플리케이션 기동이 막힘
+ *  어플리케이션 기동 완료 (ApplicationReadyEvent) 후 백그라운드에서 적재
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "datajpa.seed.enabled", havingValue = "true", matchIfMissing = true)
+public class MemberSeedRunner {
+
+    private static final int SEED_COUNT = 100;
+
+    private final MemberRepository memberRepository;
+    private final ApplicationStartup applicationStartup;
+
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public void seed() {
+        StartupStep step = applicationStartup.start("datajpa.seed.members");
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < SEED_COUNT; i++) {
+            members.add(new Member("user" + i, i));
+        }
+        int count = memberRepository.saveAllBatched(members, SEED_COUNT);
+        step.tag("count", String.valueOf(count));
+        step.end();
+        log.info("member seed 완료 : {}", count);
+    }
+}
@@ -0,0 +1,43 @@
+package study.datajpa.service;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+@Service
+@RequiredArgsConstructor
+public class MemberService {
+
+    private final MemberRepository memberRepository;
+
+    /**
+     * 낙관적 락 - lock 없이 조회, 커밋 시 version 충돌이면 트랜잭션을 새로 시작해서 재시도
+     *  @Retryable 이 @Transactional 바깥에서 동작 (재시도마다 새 트랜잭션, 새 영속성 컨텍스트) - advice 순서는 DataJpaApplication
+     *  backoff : 10ms 부터 2배씩 최대 200ms, random => 재시도 시점이 겹치지 않도록
+     *  max-attempts : 충돌 한번 = 다른 트랜잭션 하나가 커밋 => 동시에 수정하는 트랜잭션 수 이상으로 설정
+     */
+    @Retryable(retryFor = OptimisticLockingFailureException.class,
+            maxAttemptsExpression = "${datajpa.retry.optimistic-lock.max-attempts:10}",
+            backoff = @Backoff(delay = 10, maxDelay = 200, multiplier = 2, random = true))
+    @Transactional
+    public void increaseAge(Long memberId, int delta) {
+        Member member = memberRepository.findById(memberId)
+                .orElseThrow(() -> new IllegalArgumentException("member not found : " + memberId));
+        member.increaseAge(delta);
+    }
+
+    /**
+     * 비관적 락 - select ... for update 로 조회 후 수정. 같은 member 를 수정하는 트랜잭션은 순서대로 대기
+     */
+    @Transactional
+    public void increaseAgeWithLock(String username, int delta) {
+        Member member = memberRepository.findOneLockTimeoutByUsername(username);
+        member.increaseAge(delta);
+    }
+}
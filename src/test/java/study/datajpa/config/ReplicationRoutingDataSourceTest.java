@@ -0,0 +1,88 @@
+package study.datajpa.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+// primary, replica 는 서로 다른 내장 H2 - 데이터가 다르므로 조회 결과로 어느 쪽에서 읽었는지 확인
+//  replica 는 복제가 없으므로 member 테이블, 데이터를 직접 만듦 (ddl-auto 는 primary 에만 적용)
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReplicationRoutingDataSourceTest.PRIMARY_URL,
+    "datajpa.datasource.routing.enabled=true",
+    "datajpa.datasource.routing.replicas[0].url=" + ReplicationRoutingDataSourceTest.REPLICA_URL,
+    "datajpa.seed.enabled=false"
+})
+public class ReplicationRoutingDataSourceTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    // replica 에만 있는 member 수
+    private static final int REPLICA_MEMBERS = 3;
+
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired MemberRepository memberRepository;
+
+    private final List<Long> memberIds = new ArrayList<>();
+
+    @BeforeEach
+    void replicaData() {
+        JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+        replica.execute("create table if not exists member (member_id bigint primary key)");
+        replica.execute("merge into member key (member_id) values (1), (2), (3)");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.resetRequestAttributes();
+        memberRepository.deleteAllByIdInBatch(memberIds);
+    }
+
+    @Test
+    void routing() {
+        save(new Member("routingA"));
+
+        // 쓰기 트랜잭션 => primary, 읽기 전용 트랜잭션 => replica
+        Assertions.assertThat(count(false)).isEqualTo(1);
+        Assertions.assertThat(count(true)).isEqualTo(REPLICA_MEMBERS);
+        // 트랜잭션 밖 리포지토리 조회 (클래스 레벨 읽기 전용 트랜잭션) => replica
+        Assertions.assertThat(memberRepository.count()).isEqualTo(REPLICA_MEMBERS);
+    }
+
+    @Test
+    void readAfterWriteInSameRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+
+        Assertions.assertThat(count(true)).isEqualTo(REPLICA_MEMBERS);
+        save(new Member("routingB"));
+        // 같은 요청에서 쓰기 이후의 읽기 => 방금 쓴 데이터가 있는 primary
+        Assertions.assertThat(count(true)).isEqualTo(1);
+    }
+
+    private long count(boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> memberRepository.count());
+    }
+
+    private void save(Member member) {
+        memberRepository.save(member);
+        memberIds.add(member.getId());
+    }
+}
@@ -0,0 +1,133 @@
+package study.datajpa.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.LazyInitializationException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.context.WebApplicationContext;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import study.datajpa.entity.Member;
+import study.datajpa.entity.Team;
+import study.datajpa.monitoring.QueryCountFilter;
+import study.datajpa.repository.MemberRepository;
+import study.datajpa.repository.TeamRepository;
+import study.datajpa.repository.support.FetchPlanHolder;
+
+// open-in-view 꺼진 상태 확인을 위해 테스트 트랜잭션 (@Transactional) 없이 실행 => 만든 member, team 은 직접 삭제
+@SpringBootTest
+@AutoConfigureMockMvc
+public class MemberControllerTest {
+
+    private static final String DETAIL_URI = "/members/{id}/detail";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired WebApplicationContext context;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired MemberRepository memberRepository;
+    @Autowired TeamRepository teamRepository;
+    @Autowired MeterRegistry meterRegistry;
+
+    private final List<Long> memberIds = new ArrayList<>();
+    private final List<Long> teamIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllByIdInBatch(memberIds);
+        teamRepository.deleteAllByIdInBatch(teamIds);
+    }
+
+    @Test
+    void lazyLoadingOutsideTransaction() {
+        Member member = saveMember("lazy", "lazyTeam");
+
+        // 트랜잭션이 끝난 뒤 초기화하지 않은 연관관계 접근 => 예외
+        Member findMember = memberRepository.findById(member.getId()).get();
+        Assertions.assertThatThrownBy(() -> findMember.getTeam().getName())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+
+    @Test
+    void fetchPlan() throws Exception {
+        Member member = saveMember("fetchPlan", "fetchPlanTeam");
+
+        // @FetchPlan("team") => 트랜잭션 commit 전에 team 초기화
+        mockMvc.perform(get(DETAIL_URI, member.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamName").value("fetchPlanTeam"));
+
+        Assertions.assertThat(connectionHold().count()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void scrollWithInvalidCursor() throws Exception {
+        mockMvc.perform(get("/members/scroll").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/members/scroll").param("cursor", "@@@"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void openInViewDisabled() throws Exception {
+        Member member = saveMember("osiv", "osivTeam");
+
+        // spring.jpa.open-in-view: false => 요청 범위 EntityManager (커넥션 점유) 없음
+        Assertions.assertThat(context.getBeansOfType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+
+        // 2차 캐시를 비우고 요청 => member 조회 + fetch plan 으로 team 초기화, 응답 직렬화 중 추가 sql x
+        entityManagerFactory.getCache().evictAll();
+        mockMvc.perform(get(DETAIL_URI, member.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.teamName").value("osivTeam"))
+                .andExpect(header().string(QueryCountFilter.QUERY_COUNT_HEADER, "2"))
+                .andExpect(header().string(QueryCountFilter.N_PLUS_ONE_HEADER, "0"));
+    }
+
+    @Test
+    void fetchPlanClearedAfterFailedRequest() {
+        Member member = saveMember("fetchPlanCleared", "fetchPlanClearedTeam");
+
+        // 없는 member => 컨트롤러에서 예외
+        Assertions.assertThatThrownBy(() -> mockMvc.perform(get(DETAIL_URI, -1L)))
+                .hasRootCauseInstanceOf(NoSuchElementException.class);
+
+        // 요청 스레드에 fetch plan 이 남지 않음 => fetch plan 없는 조회는 team 초기화 x
+        Assertions.assertThat(FetchPlanHolder.current()).isNull();
+        Member findMember = memberRepository.findById(member.getId()).get();
+        Assertions.assertThatThrownBy(() -> findMember.getTeam().getName())
+                .isInstanceOf(LazyInitializationException.class);
+    }
+
+    private Timer connectionHold() {
+        Timer connectionHold = meterRegistry.find(QueryCountFilter.CONNECTION_HOLD)
+                .tag("uri", DETAIL_URI)
+                .timer();
+        Assertions.assertThat(connectionHold).isNotNull();
+        return connectionHold;
+    }
+
+    private Member saveMember(String username, String teamName) {
+        Team team = teamRepository.save(new Team(teamName));
+        teamIds.add(team.getId());
+        Member member = memberRepository.save(new Member(username + "-" + UUID.randomUUID(), 10, team));
+        memberIds.add(member.getId());
+        return member;
+    }
+}
@@ -1,15 +1,23 @@
 package study.datajpa.entity;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
+import study.datajpa.monitoring.QueryCount;
+import study.datajpa.monitoring.QueryCountHolder;
 import study.datajpa.repository.MemberRepository;
 
 @SpringBootTest
@@ -55,6 +63,107 @@ public class MemberTest {
         }
     }
 
+    @Test
+    @Transactional
+    void batchFetch() {
+        // 1000 member, 100 team
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Team team = new Team("batchTeam" + i);
+            em.persist(team);
+            teams.add(team);
+        }
+        for (int i = 0; i < 1000; i++) {
+            em.persist(new Member("batchMember" + i, 10, teams.get(i % 100)));
+        }
+        em.flush();
+        em.clear();
+
+        // member => team 프록시 초기화 : member 조회 1 + team in 쿼리 1
+        QueryCount memberToTeam = QueryCountHolder.count(() -> {
+            List<Member> members = em.createQuery("select m from Member m where m.username like 'batchMember%'", Member.class)
+                    .getResultList();
+            members.forEach(m -> m.getTeam().getName());
+        });
+        em.clear();
+
+        // team => members 컬렉션 초기화 : team 조회 1 + member in 쿼리 1
+        QueryCount teamToMembers = QueryCountHolder.count(() -> {
+            List<Team> findTeams = em.createQuery("select t from Team t where t.name like 'batchTeam%'", Team.class)
+                    .getResultList();
+            findTeams.forEach(t -> t.getMembers().size());
+        });
+
+        Assertions.assertThat(memberToTeam.getTotal()).isLessThanOrEqualTo(2);
+        Assertions.assertThat(teamToMembers.getTotal()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    @Transactional
+    void auditingPerTransaction() {
+        Member member1 = new Member("audit1");
+        Member member2 = new Member("audit2");
+        memberRepository.save(member1);
+        memberRepository.save(member2);
+        em.flush();
+
+        // 같은 트랜잭션 => 같은 등록자, 같은 시간
+        Assertions.assertThat(member1.getCreateBy()).isNotNull().isEqualTo(member2.getCreateBy());
+        Assertions.assertThat(member1.getCreatedDate()).isNotNull().isEqualTo(member2.getCreatedDate());
+    }
+
+    @Test
+    @Transactional
+    void auditingPerFlush() throws InterruptedException {
+        Member member = memberRepository.save(new Member("auditFlush"));
+        em.flush();
+        LocalDateTime firstFlush = member.getLastModifiedDate();
+
+        Thread.sleep(10);
+        member.setUsername("auditFlush2");
+        em.flush();
+
+        // 시간은 flush 마다 새로, 등록자는 트랜잭션 당 하나
+        Assertions.assertThat(member.getLastModifiedDate()).isAfter(firstFlush);
+        Assertions.assertThat(member.getLastModifiedBy()).isEqualTo(member.getCreateBy());
+    }
+
+    @Test
+    @Transactional
+    void auditorFromRequest() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setUserPrincipal(() -> "auditUser");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        try {
+            Member member = memberRepository.save(new Member("auditRequest"));
+            em.flush();
+
+            // 등록자 = 요청의 인증 사용자
+            Assertions.assertThat(member.getCreateBy()).isEqualTo("auditUser");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    @Transactional
+    void withoutAuditing() {
+        Member member = SkippableAuditingEntityListener.runWithoutAuditing(
+                () -> memberRepository.save(new Member("noAudit")));
+        em.flush();
+
+        Assertions.assertThat(member.getCreatedDate()).isNull();
+        Assertions.assertThat(member.getCreateBy()).isNull();
+
+        // 범위를 벗어나면 (예외 포함) 다시 auditing
+        Assertions.assertThatThrownBy(() -> SkippableAuditingEntityListener.runWithoutAuditing(() -> {
+            throw new IllegalStateException("import failed");
+        })).isInstanceOf(IllegalStateException.class);
+        Member audited = memberRepository.save(new Member("audit"));
+        em.flush();
+        Assertions.assertThat(audited.getCreatedDate()).isNotNull();
+    }
+
     @Test
     @Transactional
     void jpaEventBaseEntity() throws InterruptedException {
@@ -77,4 +186,21 @@ public class MemberTest {
         System.out.println("member.createdBy ===> " + findMember.getCreateBy());
         System.out.println("member.modifiedBy ===> " + findMember.getLastModifiedBy());
     }
+
+    @Test
+    public void changeTeam() {
+        Team teamA = new Team("teamA");
+        Team teamB = new Team("teamB");
+        Member member = new Member("member1", 10);
+
+        // when - bytecode enhancement 유무와 상관없이 새 team.members 에 한번만 추가, 이전 team.members 에서 제거
+        member.changeTeam(teamA);
+        member.changeTeam(teamA);
+        Assertions.assertThat(teamA.getMembers()).containsOnlyOnce(member);
+        member.changeTeam(teamB);
+
+        // then
+        Assertions.assertThat(teamA.getMembers()).doesNotContain(member);
+        Assertions.assertThat(teamB.getMembers()).containsExactly(member);
+    }
 }
@@ -0,0 +1,27 @@
+package study.datajpa.monitoring;
+
+import java.util.Map;
+
+/**
+ * 테스트용 쿼리 예산 검증
+ *  주의 : jpql 실행 전 auto flush 로 나가는 insert / update 도 포함되므로 em.flush() 후 사용
+ */
+public abstract class QueryAssertions {
+
+    public static QueryCount assertQueryCountAtMost(int budget, Runnable action) {
+        QueryCount queryCount = QueryCountHolder.count(action);
+        if (queryCount.getTotal() > budget) {
+            throw new AssertionError("query budget " + budget + " 초과 : " + queryCount);
+        }
+        return queryCount;
+    }
+
+    public static QueryCount assertNoNPlusOne(int threshold, Runnable action) {
+        QueryCount queryCount = QueryCountHolder.count(action);
+        Map<String, Integer> suspected = queryCount.suspectedNPlusOne(threshold);
+        if (!suspected.isEmpty()) {
+            throw new AssertionError("N+1 의심 : " + suspected);
+        }
+        return queryCount;
+    }
+}
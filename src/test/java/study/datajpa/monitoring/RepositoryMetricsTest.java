@@ -0,0 +1,62 @@
+package study.datajpa.monitoring;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberJpaRepository;
+import study.datajpa.repository.MemberRepository;
+
+@SpringBootTest
+@Transactional
+public class RepositoryMetricsTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired MemberJpaRepository memberJpaRepository;
+    @Autowired MeterRegistry meterRegistry;
+    @Autowired RepositoryMetricsEndpoint repositoryMetricsEndpoint;
+
+    @Test
+    void springDataRepository() {
+        memberRepository.save(new Member("metrics1", 10));
+        memberRepository.save(new Member("metrics1", 20));
+
+        memberRepository.findListByUsername("metrics1");
+
+        Assertions.assertThat(meterRegistry.get(RepositoryInvocationMetrics.SPRING_DATA_INVOCATIONS)
+                .tag("repository", "MemberRepository")
+                .tag("method", "findListByUsername")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        Assertions.assertThat(meterRegistry.get(RepositoryInvocationMetrics.RESULT_SIZE)
+                .tag("repository", "MemberRepository")
+                .tag("method", "findListByUsername")
+                .summary().max()).isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void jpaRepository() {
+        memberJpaRepository.save(new Member("metrics2", 10));
+
+        memberJpaRepository.findByUsername("metrics2");
+
+        Assertions.assertThat(meterRegistry.get(RepositoryInvocationMetrics.INVOCATIONS)
+                .tag("repository", "MemberJpaRepository")
+                .tag("method", "findByUsername")
+                .tag("state", "SUCCESS")
+                .timer().count()).isGreaterThanOrEqualTo(1);
+        // spring boot 지표에는 기록 x
+        Assertions.assertThat(meterRegistry.find(RepositoryInvocationMetrics.SPRING_DATA_INVOCATIONS)
+                .tag("repository", "MemberJpaRepository")
+                .timer()).isNull();
+        Assertions.assertThat(repositoryMetricsEndpoint.summary())
+                .anySatisfy(summary -> {
+                    Assertions.assertThat(summary.getRepository()).isEqualTo("MemberJpaRepository");
+                    Assertions.assertThat(summary.getMethod()).isEqualTo("findByUsername");
+                    Assertions.assertThat(summary.getPercentilesMs()).containsKeys("p50", "p95", "p99");
+                });
+    }
+}
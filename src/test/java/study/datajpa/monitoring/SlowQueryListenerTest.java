@@ -0,0 +1,55 @@
+package study.datajpa.monitoring;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import study.datajpa.repository.MemberRepository;
+
+// threshold 0 => 모든 sql 을 느린 쿼리로 기록
+@SpringBootTest(properties = {"datajpa.slow-query.threshold=0ms", "datajpa.seed.enabled=false"})
+public class SlowQueryListenerTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired SlowQueryListener slowQueryListener;
+
+    @Test
+    void slowQuery() throws Exception {
+        slowQueryListener.clear();
+
+        memberRepository.findByUsernameAndAgeGreaterThan("slow", 10);
+
+        SlowQuery slowQuery = slowQueryListener.getSlowQueries().stream()
+                .filter(query -> "MemberRepository.findByUsernameAndAgeGreaterThan".equals(query.getRepositoryMethod()))
+                .findFirst()
+                .orElseThrow();
+        Assertions.assertThat(slowQuery.getSql()).contains("from member").contains("?");
+        Assertions.assertThat(slowQuery.getSqlWithValues()).contains("'slow'");
+
+        // EXPLAIN 은 비동기
+        for (int i = 0; i < 50 && slowQuery.getPlan() == null; i++) {
+            Thread.sleep(100);
+        }
+        Assertions.assertThat(slowQuery.getPlan()).isNotBlank();
+    }
+
+    @Test
+    void explainWithBoundParameters() throws Exception {
+        slowQueryListener.clear();
+
+        // 따옴표가 들어간 값 - 바인딩 값을 sql 에 이어 붙이면 깨지는 (injection) 값
+        memberRepository.findUser("it's slow' or '1'='1", 10);
+
+        SlowQuery slowQuery = slowQueryListener.getSlowQueries().stream()
+                .filter(query -> "MemberRepository.findUser".equals(query.getRepositoryMethod()))
+                .findFirst()
+                .orElseThrow();
+
+        for (int i = 0; i < 50 && slowQuery.getPlan() == null; i++) {
+            Thread.sleep(100);
+        }
+        // EXPLAIN 은 파라미터 ? 그대로 실행 => 값이 sql 로 해석되지 않음
+        Assertions.assertThat(slowQuery.getPlan()).isNotBlank().doesNotContain("'1'='1'");
+    }
+}
@@ -1,5 +1,11 @@
 package study.datajpa.repository;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -11,10 +17,37 @@ public class ItemRepositoryTest {
 
     @Autowired ItemRepository itemRepository;
 
+    private final List<String> itemIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        itemRepository.deleteAllByIdInBatch(itemIds);
+    }
+
     @Test
     void saveItemTest() {
         Item item = new Item("AA");
         itemRepository.save(item);
     }
-    
+
+    @Test
+    void insertAllIfAbsentTest() {
+        String prefix = "insert-" + UUID.randomUUID() + "-";
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            items.add(new Item(prefix + i));
+            itemIds.add(prefix + i);
+        }
+
+        // when - 같은 id 로 두번 실행
+        int inserted = itemRepository.insertAllIfAbsent(items);
+        int insertedAgain = itemRepository.insertAllIfAbsent(items.subList(2000, 2500));
+
+        // then - 두번째는 모두 이미 있는 id => insert 0 건
+        Assertions.assertThat(inserted).isEqualTo(2500);
+        Assertions.assertThat(insertedAgain).isZero();
+        Assertions.assertThat(itemRepository.findById(prefix + 0)).isPresent();
+        Assertions.assertThat(itemRepository.findById(prefix + 2499).get().isNew()).isFalse();
+    }
+
 }
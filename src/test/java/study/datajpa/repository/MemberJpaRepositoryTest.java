@@ -94,6 +94,24 @@ public class MemberJpaRepositoryTest {
         Assertions.assertThat(totalCount).isEqualTo(5);
     }
 
+    @Test
+    void testKeysetPaging() {
+        memberJpaRepository.save(new Member("member1", 777));
+        memberJpaRepository.save(new Member("member2", 777));
+        memberJpaRepository.save(new Member("member3", 777));
+        memberJpaRepository.save(new Member("member4", 777));
+        memberJpaRepository.save(new Member("member5", 777));
+
+        // when
+        List<Member> first = memberJpaRepository.findByPageAfter(777, null, null, 3);
+        Member last = first.get(first.size() - 1);
+        List<Member> second = memberJpaRepository.findByPageAfter(777, last.getUsername(), last.getId(), 3);
+
+        // then
+        Assertions.assertThat(first).extracting("username").containsExactly("member5", "member4", "member3");
+        Assertions.assertThat(second).extracting("username").containsExactly("member2", "member1");
+    }
+
     @Test
     void bulkUpdate() {
         memberJpaRepository.save(new Member("member1", 10));
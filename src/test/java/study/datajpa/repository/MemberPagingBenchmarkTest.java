@@ -0,0 +1,96 @@
+package study.datajpa.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import study.datajpa.entity.Member;
+
+/**
+ * offset 페이징 vs keyset(seek) 페이징 비교 (1,000,000 row) - /members/scroll 이 사용하는 Window 조회 기준
+ *  데이터 적재에 시간이 걸리므로 BENCHMARK=true 환경변수가 있을 때만 실행
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = "BENCHMARK", matches = "true")
+public class MemberPagingBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberPagingBenchmarkTest.class);
+
+    private static final int ROWS = 1_000_000;
+    private static final int AGE = 9_999;
+    private static final int LIMIT = 20; // findTop20...
+    private static final long ID_BASE = 100_000_000L;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void setUp() {
+        jdbcTemplate.update("insert into member (member_id, username, age)"
+                + " select ? + x, concat('bench', lpad(x, 7, '0')), ? from system_range(1, ?)",
+                ID_BASE, AGE, ROWS);
+    }
+
+    @AfterAll
+    void tearDown() {
+        jdbcTemplate.update("delete from member where member_id > ?", ID_BASE);
+    }
+
+    // /members/scroll 과 같은 리포지토리 메소드 (username desc, id 순 Window) 를 offset / keyset 위치로 조회
+    @Test
+    void offsetVsKeyset() {
+        for (int offset : new int[] {0, 10_000, 100_000, 500_000, ROWS - LIMIT}) {
+            // keyset 커서 = offset 페이지 직전 row 의 (username, id)
+            KeysetScrollPosition keyset = offset == 0 ? ScrollPosition.keyset() : keysetAt(offset - 1);
+            OffsetScrollPosition offsetPosition = ScrollPosition.offset(offset);
+
+            long offsetNanos = measure(() -> memberRepository.findTop20ByOrderByUsernameDescIdAsc(offsetPosition));
+            long keysetNanos = measure(() -> memberRepository.findTop20ByOrderByUsernameDescIdAsc(keyset));
+
+            Assertions.assertThat(memberRepository.findTop20ByOrderByUsernameDescIdAsc(keyset).getContent())
+                    .extracting(Member::getId)
+                    .containsExactlyElementsOf(memberRepository.findTop20ByOrderByUsernameDescIdAsc(offsetPosition)
+                            .stream().map(Member::getId).toList());
+
+            log.info("offset={}  offset paging={} us  keyset paging={} us",
+                    offset, offsetNanos / 1_000, keysetNanos / 1_000);
+        }
+    }
+
+    private KeysetScrollPosition keysetAt(int offset) {
+        Member last = memberRepository.findTop20ByOrderByUsernameDescIdAsc(ScrollPosition.offset(offset)).getContent().get(0);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        keys.put("username", last.getUsername());
+        keys.put("id", last.getId());
+        return ScrollPosition.forward(keys);
+    }
+
+    // warm up 후 10회 평균
+    private long measure(Supplier<Window<Member>> query) {
+        for (int i = 0; i < 3; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / 10;
+    }
+}
@@ -0,0 +1,82 @@
+package study.datajpa.repository;
+
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManagerFactory;
+import study.datajpa.entity.Member;
+
+// 쿼리 캐시는 커밋된 결과만 재사용 => 테스트 트랜잭션 (@Transactional) 없이 실행
+// 샘플 데이터 적재 (member insert) 가 캐시를 무효화하지 않도록 seed off
+@SpringBootTest(properties = "datajpa.seed.enabled=false")
+public class MemberQueryCacheTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManagerFactory entityManagerFactory;
+    @Autowired TransactionTemplate transactionTemplate;
+
+    @Test
+    void cacheHit() {
+        String username = uniqueUsername();
+        memberRepository.save(new Member(username, 10));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        memberRepository.findByUsername(username);
+        long hitCount = statistics.getQueryCacheHitCount();
+        Assertions.assertThat(memberRepository.findByUsername(username))
+                .extracting(Member::getUsername)
+                .containsExactly(username);
+
+        Assertions.assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    void invalidateOnUpdate() {
+        String username = uniqueUsername();
+        Member member = memberRepository.save(new Member(username, 10));
+        memberRepository.findOneByUsername(username); // 캐시 적재
+
+        // when - 변경 감지 (setUsername) 로 update
+        transactionTemplate.executeWithoutResult(
+                status -> memberRepository.findById(member.getId()).get().setUsername(username + "-changed"));
+
+        // then
+        Assertions.assertThat(memberRepository.findOneByUsername(username)).isNull();
+        Assertions.assertThat(memberRepository.findOneByUsername(username + "-changed")).isNotNull();
+    }
+
+    @Test
+    void invalidateOnDelete() {
+        String username = uniqueUsername();
+        Member member = memberRepository.save(new Member(username, 10));
+        memberRepository.findListByUsername(username); // 캐시 적재
+
+        memberRepository.delete(member);
+
+        Assertions.assertThat(memberRepository.findListByUsername(username)).isEmpty();
+    }
+
+    @Test
+    void invalidateOnBulkUpdate() {
+        String username = uniqueUsername();
+        memberRepository.save(new Member(username, 9000));
+        memberRepository.findOptionalByUsername(username); // 캐시 적재
+
+        // when - jpql 벌크 연산
+        transactionTemplate.executeWithoutResult(status -> memberRepository.updateBulkAge(9000));
+
+        // then
+        Assertions.assertThat(memberRepository.findOptionalByUsername(username).get().getAge()).isEqualTo(9001);
+    }
+
+    private String uniqueUsername() {
+        return "queryCache-" + UUID.randomUUID();
+    }
+}
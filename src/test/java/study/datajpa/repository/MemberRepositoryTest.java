@@ -1,25 +1,37 @@
 package study.datajpa.repository;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import study.datajpa.dto.MemberDTO;
 import study.datajpa.entity.Member;
 import study.datajpa.entity.Team;
+import study.datajpa.monitoring.QueryAssertions;
+import study.datajpa.monitoring.QueryCount;
+import study.datajpa.monitoring.QueryCountHolder;
 
 @SpringBootTest
 @Transactional // test 코드에서 @transactional 은 실행 후 모든 데이터 rollback
@@ -30,6 +42,7 @@ public class MemberRepositoryTest {
     @Autowired TeamRepository teamRepository;
     @PersistenceContext EntityManager em;
     @Autowired MemberQueryRepository memberQueryRepository;
+    @Autowired PlatformTransactionManager transactionManager;
 
     @Test
     void testMember() {
@@ -142,6 +155,23 @@ public class MemberRepositoryTest {
         }
     }
 
+    @Test
+    void testStreamAllMemberDTO() {
+        Team team = new Team("teamStream");
+        teamRepository.save(team);
+        memberRepository.save(new Member("stream1", 10, team));
+        memberRepository.save(new Member("stream2", 10));
+
+        // when
+        List<MemberDTO> result;
+        try (Stream<MemberDTO> stream = memberRepository.streamAllMemberDTO()) {
+            result = stream.filter(dto -> dto.getUsername().startsWith("stream")).toList();
+        }
+
+        // then
+        Assertions.assertThat(result).extracting("teamName").containsExactlyInAnyOrder("teamStream", null);
+    }
+
     @Test
     void testFindByNames() {
         Member member1 = new Member("AAA", 10);
@@ -154,6 +184,24 @@ public class MemberRepositoryTest {
         System.out.println(list.get(0));
     }
 
+    @Test
+    void testFindByNamesChunked() {
+        List<Member> members = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            members.add(new Member("chunk" + i, 10));
+            names.add("chunk" + i);
+        }
+        memberRepository.saveAll(members);
+
+        // when - 1024 개씩 3번 조회, 중복 이름은 한번만
+        names.add("chunk0");
+        List<Member> result = memberRepository.findByNames(names);
+
+        // then
+        Assertions.assertThat(result).hasSize(3000);
+    }
+
     @Test
     void testReturnType() {
         Member member1 = new Member("AAA", 10);
@@ -194,6 +242,42 @@ public class MemberRepositoryTest {
         Assertions.assertThat(result.getTotalElements()).isEqualTo(5);
     }
 
+    @Test
+    void testPageByAgeCount() {
+        for (int i = 1; i <= 5; i++) {
+            memberRepository.save(new Member("member" + i, 555));
+        }
+
+        PageRequest pageRequest = PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "username"));
+
+        // when
+        Page<Member> first = memberRepository.findPageByAge(555, pageRequest);
+        // 마지막 페이지 => content 만으로 total 계산, count 쿼리 x
+        Page<Member> last = memberRepository.findPageByAge(555, pageRequest.next());
+
+        // then
+        Assertions.assertThat(first.getContent()).extracting("username").containsExactly("member5", "member4", "member3");
+        Assertions.assertThat(first.getTotalElements()).isEqualTo(5);
+        Assertions.assertThat(last.getContent().size()).isEqualTo(2);
+        Assertions.assertThat(last.getTotalElements()).isEqualTo(5);
+    }
+
+    @Test
+    void testFindMemberDTOPage() {
+        Team team = new Team("teamDTO");
+        teamRepository.save(team);
+        memberRepository.save(new Member("zzdto2", 10, team));
+        memberRepository.save(new Member("zzdto1", 10));
+
+        // when
+        Page<MemberDTO> result = memberRepository.findMemberDTOPage(
+                PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "username")));
+
+        // then
+        Assertions.assertThat(result.getContent()).extracting("username").containsExactly("zzdto2", "zzdto1");
+        Assertions.assertThat(result.getContent()).extracting("teamName").containsExactly("teamDTO", null);
+    }
+
     @Test
     void testSlice() {
         memberRepository.save(new Member("member1", 10));
@@ -222,6 +306,25 @@ public class MemberRepositoryTest {
 
     }
 
+    @Test
+    void testKeysetScroll() {
+        // username desc 정렬 시 가장 앞에 오도록 zz 접두어 사용
+        for (int i = 0; i < 25; i++) {
+            memberRepository.save(new Member("zzscroll" + (i % 5), 10));
+        }
+
+        // when
+        Window<Member> first = memberRepository.findTop20ByOrderByUsernameDescIdAsc(ScrollPosition.keyset());
+        Window<Member> second = memberRepository.findTop20ByOrderByUsernameDescIdAsc(first.positionAt(first.size() - 1));
+
+        // then
+        Assertions.assertThat(first.size()).isEqualTo(20);
+        Assertions.assertThat(first.hasNext()).isTrue();
+        Assertions.assertThat(first.getContent()).allMatch(m -> m.getUsername().startsWith("zzscroll"));
+        Assertions.assertThat(second.getContent().subList(0, 5)).allMatch(m -> m.getUsername().equals("zzscroll0"));
+        Assertions.assertThat(second.getContent()).doesNotContainAnyElementsOf(first.getContent());
+    }
+
     @Test
     void bulkUpdate() {
         memberRepository.save(new Member("member1", 10));
@@ -281,6 +384,70 @@ public class MemberRepositoryTest {
         }
     }
 
+    @Test
+    void secondLevelCache() {
+        Team team = new Team("teamCache");
+        teamRepository.save(team);
+        Member member = new Member("cache1", 10, team);
+        memberRepository.save(member);
+        em.flush();
+        em.clear();
+
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when - 첫 조회 이후 영속성 컨텍스트를 비워도 2차 캐시에서 조회
+        teamRepository.findById(team.getId());
+        em.clear();
+        teamRepository.findById(team.getId());
+
+        // then
+        Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void secondLevelCacheBulkUpdate() {
+        Member member = new Member("cache2", 50);
+        memberRepository.save(member);
+        em.flush();
+        em.clear();
+        memberRepository.findById(member.getId()); // 2차 캐시 적재
+
+        // when - 벌크 연산은 영속성 컨텍스트, 2차 캐시를 거치지 않지만 hibernate 가 Member region 무효화
+        memberRepository.updateBulkAge(50);
+
+        // then
+        Assertions.assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(51);
+    }
+
+    @Test
+    void queryBudget() {
+        List<Team> teams = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            teams.add(teamRepository.save(new Team("budgetTeam" + i)));
+        }
+        for (int i = 0; i < 20; i++) {
+            memberRepository.save(new Member("budget" + i, 777, teams.get(i % teams.size())));
+        }
+        em.flush();
+        em.clear();
+
+        // fetch join => select 1번
+        QueryAssertions.assertQueryCountAtMost(1,
+                () -> memberRepository.findMemberFetchJoin().forEach(m -> m.getTeam().getName()));
+
+        em.clear();
+        // 2차 캐시에서 team 을 읽으면 sql 수가 달라지므로 비움
+        em.getEntityManagerFactory().getCache().evictAll();
+
+        // lazy loading => member 조회 1번 + team 5개 batch 조회 1번 (batch fetch 없으면 1 + 5)
+        //  content 가 page size 보다 작은 첫 페이지 => count 쿼리 x
+        QueryCount queryCount = QueryAssertions.assertNoNPlusOne(2,
+                () -> memberRepository.findByAge(777, PageRequest.of(0, 30))
+                        .forEach(m -> m.getTeam().getName()));
+        Assertions.assertThat(queryCount.getTotal()).isEqualTo(2);
+    }
+
     @Test
     void queryHint() {
 
@@ -311,6 +478,83 @@ public class MemberRepositoryTest {
         Member findMember =  memberRepository.findOneLockByUsername("member1");
     }
 
+    @Test
+    void saveAllBatched() {
+        Team team = teamRepository.save(new Team("teamBatch"));
+        List<Member> members = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            members.add(new Member("batch" + i, 30));
+        }
+
+        // when
+        int count = memberRepository.saveAllBatched(members, 100);
+
+        // then
+        Assertions.assertThat(count).isEqualTo(250);
+        Assertions.assertThat(members).allMatch(m -> m.getId() != null);
+        Assertions.assertThat(em.contains(members.get(0))).isFalse();
+        // 저장한 member 만 detach, 호출 전에 영속 상태였던 team 은 유지
+        Assertions.assertThat(em.contains(team)).isTrue();
+        Assertions.assertThat(memberRepository.findByUsername("batch249")).hasSize(1);
+    }
+
+    // StatelessSession 은 별도 커넥션 => 커밋된 데이터만 조회되므로 테스트 트랜잭션 밖에서 저장, 직접 삭제
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void scanAll() {
+        List<Member> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(memberRepository.save(new Member("scanAll" + i, 40)));
+        }
+
+        try {
+            // when - StatelessSession 으로 조회 => 호출한 트랜잭션의 영속성 컨텍스트에 올라가지 않음
+            List<Member> scanned = new ArrayList<>();
+            long count = readOnlyTransaction().execute(status -> {
+                long scannedCount = memberRepository.scanAll(2, member -> {
+                    if (member.getUsername().startsWith("scanAll")) {
+                        scanned.add(member);
+                    }
+                });
+                Assertions.assertThat(scanned).noneMatch(em::contains);
+                return scannedCount;
+            });
+
+            // then
+            Assertions.assertThat(count).isGreaterThanOrEqualTo(5);
+            Assertions.assertThat(scanned).hasSize(5);
+        } finally {
+            memberRepository.deleteAllInBatch(saved);
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void streamAll() {
+        List<Member> saved = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            saved.add(memberRepository.save(new Member("scanStream" + i, 40)));
+        }
+
+        try {
+            // streamAll 은 트랜잭션 안에서만 호출 가능 (MANDATORY)
+            long count = readOnlyTransaction().execute(status -> {
+                try (Stream<Member> stream = memberRepository.streamAll(2)) {
+                    return stream.filter(member -> member.getUsername().startsWith("scanStream")).count();
+                }
+            });
+            Assertions.assertThat(count).isEqualTo(5);
+        } finally {
+            memberRepository.deleteAllInBatch(saved);
+        }
+    }
+
+    private TransactionTemplate readOnlyTransaction() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate;
+    }
+
     @Test
     void callCustom() {
         // memberRepository.findMemberCustom();
@@ -0,0 +1,60 @@
+package study.datajpa.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import study.datajpa.entity.Member;
+
+// 리포지토리가 시작하는 트랜잭션을 확인하기 위해 테스트 트랜잭션 (@Transactional) 없이 실행 => 만든 member 는 직접 삭제
+@SpringBootTest
+public class ReadOnlyTransactionTest {
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+    @PersistenceContext EntityManager em;
+
+    private final List<Long> memberIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllByIdInBatch(memberIds);
+    }
+
+    @Test
+    void readOnlyTransaction() {
+        String username = "readOnly-" + UUID.randomUUID();
+        Member member = memberRepository.save(new Member(username, 10));
+        memberIds.add(member.getId());
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+
+        // when - 읽기 전용 트랜잭션에서 조회한 엔티티 수정
+        readOnlyTransaction.executeWithoutResult(status -> {
+            Member findMember = memberRepository.findOneByUsername(username);
+            Assertions.assertThat(em.unwrap(Session.class).isReadOnly(findMember)).isTrue();
+            findMember.setUsername("changed");
+        });
+
+        // then - 스냅샷 x, flush x
+        Assertions.assertThat(memberRepository.findById(member.getId()).get().getUsername()).isEqualTo(username);
+    }
+
+    @Test
+    void lockRequiresTransaction() {
+        Assertions.assertThatThrownBy(() -> memberRepository.findOneLockByUsername("readOnly"))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+}
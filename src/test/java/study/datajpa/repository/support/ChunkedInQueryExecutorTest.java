@@ -0,0 +1,98 @@
+package study.datajpa.repository.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+// chunk 스레드가 각자 트랜잭션을 열어야 하므로 테스트 트랜잭션 (@Transactional) 없이 실행 => 만든 member 는 직접 삭제
+@SpringBootTest
+public class ChunkedInQueryExecutorTest {
+
+    @Autowired @Qualifier("applicationTaskExecutor") Executor executor;
+    @Autowired PlatformTransactionManager transactionManager;
+    @Autowired MemberRepository memberRepository;
+
+    @Test
+    void parallelChunksOutsideTransaction() {
+        ChunkedInQueryExecutor chunked = new ChunkedInQueryExecutor(executor, transactionManager, 2);
+        // 두 chunk 가 동시에 실행 중이어야 통과 (순차 실행이면 먼저 실행된 쪽이 timeout)
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        Set<Boolean> readOnlyOnOtherThread = ConcurrentHashMap.newKeySet();
+        Thread caller = Thread.currentThread();
+
+        List<Integer> result = chunked.execute(List.of(1, 2, 3, 4, 3), chunk -> {
+            if (Thread.currentThread() != caller) {
+                readOnlyOnOtherThread.add(TransactionSynchronizationManager.isActualTransactionActive()
+                        && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            }
+            await(bothRunning);
+            return chunk;
+        });
+
+        // then - 순서 유지, 중복 제거, 다른 스레드의 chunk 는 읽기 전용 트랜잭션에서 실행
+        Assertions.assertThat(result).containsExactly(1, 2, 3, 4);
+        Assertions.assertThat(readOnlyOnOtherThread).containsExactly(true);
+    }
+
+    @Test
+    void sequentialInReadWriteTransaction() {
+        ChunkedInQueryExecutor chunked = new ChunkedInQueryExecutor(executor, transactionManager, 2);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+
+        List<Integer> result = new TransactionTemplate(transactionManager).execute(status ->
+                chunked.execute(List.of(1, 2, 3, 4, 5), chunk -> {
+                    threads.add(Thread.currentThread());
+                    return chunk;
+                }));
+
+        Assertions.assertThat(result).containsExactly(1, 2, 3, 4, 5);
+        Assertions.assertThat(threads).containsExactly(Thread.currentThread());
+    }
+
+    @Test
+    void findByNamesOutsideTransaction() {
+        List<Member> members = new ArrayList<>();
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            members.add(new Member("chunkParallel" + i, 10));
+            names.add("chunkParallel" + i);
+        }
+        memberRepository.saveAllBatched(members, 1000);
+
+        try {
+            // when - 리포지토리 읽기 전용 트랜잭션에서 1024 개씩 3개 chunk 병렬 조회
+            List<Member> result = memberRepository.findByNames(names);
+
+            // then
+            Assertions.assertThat(result)
+                    .extracting(Member::getUsername)
+                    .containsExactlyInAnyOrderElementsOf(names);
+        } finally {
+            memberRepository.deleteAllInBatch(members);
+        }
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("chunk 가 동시에 실행되지 않음", e);
+        }
+    }
+}
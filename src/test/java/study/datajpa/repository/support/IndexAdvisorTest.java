@@ -0,0 +1,40 @@
+package study.datajpa.repository.support;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(properties = "datajpa.index-advisor.enabled=true")
+public class IndexAdvisorTest {
+
+    @Autowired IndexAdvisor indexAdvisor;
+
+    @Test
+    void missingIndex() {
+        List<IndexRecommendation> recommendations = indexAdvisor.analyze();
+
+        // username = ? and age > ? (쿼리 메소드), username = ? and age = ? (@Query) => (username, age)
+        Assertions.assertThat(recommendations)
+                .filteredOn(recommendation -> recommendation.getColumns().equals(List.of("username", "age")))
+                .singleElement()
+                .satisfies(recommendation -> {
+                    Assertions.assertThat(recommendation.getSources())
+                            .contains("MemberRepository.findByUsernameAndAgeGreaterThan", "MemberRepository.findUser");
+                    Assertions.assertThat(recommendation.toDdl())
+                            .isEqualTo("create index idx_member_username_age on member (username, age)");
+                });
+    }
+
+    @Test
+    void coveredByExistingIndex() {
+        List<IndexRecommendation> recommendations = indexAdvisor.analyze();
+
+        // findByUsername, findByAge, updateBulkAge => idx_member_username_id, idx_member_age_username_id
+        Assertions.assertThat(recommendations)
+                .noneMatch(recommendation -> recommendation.getColumns().equals(List.of("username")))
+                .noneMatch(recommendation -> recommendation.getColumns().equals(List.of("age")));
+    }
+}
@@ -0,0 +1,115 @@
+package study.datajpa.repository.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// count 스레드가 각자 트랜잭션을 열어야 하므로 테스트 트랜잭션 (@Transactional) 없이 실행
+@SpringBootTest
+public class PageCountExecutorTest {
+
+    @Autowired PageCountExecutor pageCountExecutor;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    @Test
+    void parallelCountInReadOnlyTransaction() {
+        // content, count 가 동시에 실행 중이어야 통과 (순차 실행이면 먼저 실행된 쪽이 timeout)
+        CyclicBarrier bothRunning = new CyclicBarrier(2);
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+        AtomicReference<Boolean> countReadOnly = new AtomicReference<>();
+
+        // 리포지토리 페이징 메소드와 같이 읽기 전용 트랜잭션 안에서 호출
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        Page<Integer> page = readOnlyTransaction.execute(status -> pageCountExecutor.getPage(PageRequest.of(0, 3), null,
+                () -> {
+                    await(bothRunning);
+                    return List.of(1, 2, 3);
+                },
+                () -> {
+                    countThread.set(Thread.currentThread());
+                    countReadOnly.set(TransactionSynchronizationManager.isActualTransactionActive()
+                            && TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+                    await(bothRunning);
+                    return 10L;
+                }));
+
+        // then - count 는 다른 스레드의 읽기 전용 트랜잭션에서 실행
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(10);
+        Assertions.assertThat(countThread.get()).isNotSameAs(Thread.currentThread());
+        Assertions.assertThat(countReadOnly.get()).isTrue();
+    }
+
+    @Test
+    void cancelCountWhenContentDeterminesTotal() {
+        // count 작업을 바로 실행하지 않는 executor (포화 상태)
+        List<Runnable> queued = new ArrayList<>();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PageCountExecutor executor = new PageCountExecutor(queued::add, transactionManager, meterRegistry,
+                Duration.ofSeconds(5), 100, true);
+        AtomicInteger countQueries = new AtomicInteger();
+
+        // when - 첫 페이지가 다 차지 않음 => total = content 수
+        Page<Integer> page = executor.getPage(PageRequest.of(0, 10), null,
+                () -> List.of(1, 2),
+                () -> countQueries.incrementAndGet());
+        queued.forEach(Runnable::run);
+
+        // then - 시작 전인 병렬 count 는 실행되지 않고 생략으로 기록
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(2);
+        Assertions.assertThat(countQueries.get()).isZero();
+        Assertions.assertThat(meterRegistry.get("datajpa.paging.count").tag("result", "avoided-content").counter().count())
+                .isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("datajpa.paging.count").tag("result", "executed").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void countOnCallerWhenExecutorIsBusy() {
+        List<Runnable> queued = new ArrayList<>();
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        PageCountExecutor executor = new PageCountExecutor(queued::add, transactionManager, meterRegistry,
+                Duration.ofSeconds(5), 100, true);
+        AtomicReference<Thread> countThread = new AtomicReference<>();
+
+        // when - total 이 필요한데 병렬 count 가 아직 시작 전
+        Page<Integer> page = executor.getPage(PageRequest.of(0, 2), null,
+                () -> List.of(1, 2),
+                () -> {
+                    countThread.set(Thread.currentThread());
+                    return 7L;
+                });
+        queued.forEach(Runnable::run);
+
+        // then - 기다리지 않고 호출 스레드에서 한번만 실행
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(7);
+        Assertions.assertThat(countThread.get()).isSameAs(Thread.currentThread());
+        Assertions.assertThat(meterRegistry.get("datajpa.paging.count").tag("result", "executed").counter().count())
+                .isEqualTo(1);
+    }
+
+    private static void await(CyclicBarrier barrier) {
+        try {
+            barrier.await(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException("content, count 쿼리가 동시에 실행되지 않음", e);
+        }
+    }
+}
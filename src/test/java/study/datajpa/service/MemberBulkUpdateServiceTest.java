@@ -0,0 +1,53 @@
+package study.datajpa.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import study.datajpa.dto.BulkUpdateProgress;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+// chunk 마다 별도 트랜잭션으로 커밋하므로 테스트 트랜잭션 (@Transactional) 없이 실행 => 만든 member 는 직접 삭제
+@SpringBootTest
+public class MemberBulkUpdateServiceTest {
+
+    @Autowired MemberBulkUpdateService memberBulkUpdateService;
+    @Autowired MemberRepository memberRepository;
+
+    private final List<Member> members = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        memberRepository.deleteAllByIdInBatch(members.stream().map(Member::getId).toList());
+    }
+
+    @Test
+    void chunkedBulkAgePlus() {
+        // 다른 테스트 데이터와 겹치지 않는 나이
+        int age = 100_000 + ThreadLocalRandom.current().nextInt(1_000_000);
+        for (int i = 0; i < 250; i++) {
+            members.add(new Member("chunkUpdate" + i, age));
+        }
+        memberRepository.saveAll(members);
+
+        // when
+        List<BulkUpdateProgress> progresses = new ArrayList<>();
+        BulkUpdateProgress result = memberBulkUpdateService.bulkAgePlus(age, 100, 0L, progresses::add);
+
+        // then - 100, 100, 50
+        Assertions.assertThat(result.getUpdatedCount()).isEqualTo(250);
+        Assertions.assertThat(progresses).extracting("updatedCount").containsExactly(100L, 200L, 250L);
+        Assertions.assertThat(memberRepository.findById(members.get(0).getId()).get().getAge()).isEqualTo(age + 1);
+
+        // 마지막 지점부터 다시 실행하면 수정 대상 없음
+        BulkUpdateProgress resumed = memberBulkUpdateService.bulkAgePlus(age, 100, result.getLastId(), progress -> { });
+        Assertions.assertThat(resumed.getUpdatedCount()).isZero();
+    }
+}
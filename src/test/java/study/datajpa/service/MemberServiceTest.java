@@ -0,0 +1,174 @@
+package study.datajpa.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import study.datajpa.entity.Member;
+import study.datajpa.repository.MemberRepository;
+
+// 여러 스레드가 각자 트랜잭션을 커밋해야 하므로 테스트 트랜잭션 (@Transactional) 없이 실행 => 만든 member 는 직접 삭제
+@SpringBootTest
+public class MemberServiceTest {
+
+    @Autowired MemberService memberService;
+    @Autowired MemberRepository memberRepository;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    // findById(trackedMemberId) 를 호출한 트랜잭션의 EntityManager (시도마다 1개)
+    private static final List<EntityManager> attemptEntityManagers = new CopyOnWriteArrayList<>();
+    private static final AtomicBoolean conflictPending = new AtomicBoolean();
+    private static volatile Long trackedMemberId;
+
+    private final List<Long> memberIds = new ArrayList<>();
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void cleanUp() {
+        attemptEntityManagers.clear();
+        conflictPending.set(false);
+        executor.shutdownNow();
+        memberRepository.deleteAllByIdInBatch(memberIds);
+    }
+
+    @Test
+    void optimisticLockRetry() throws Exception {
+        Member member = save(new Member("optimistic-" + UUID.randomUUID(), 0));
+
+        // when - 8 개 스레드가 동시에 같은 member 수정
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> memberService.increaseAge(member.getId(), 1)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        // then - 충돌난 트랜잭션은 재시도 => 수정 유실 없음
+        Assertions.assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(8);
+    }
+
+    @Test
+    void pessimisticLockTimeout() throws Exception {
+        Member member = save(new Member("lockTimeout-" + UUID.randomUUID(), 0));
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        // 다른 스레드가 row lock 을 잡고 대기
+        Future<?> holder = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            memberRepository.findOneLockByUsername(member.getUsername());
+            locked.countDown();
+            await(release);
+        }));
+        Assertions.assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        // when - lock 대기 시간 초과 => 무한 대기하지 않고 예외
+        //  (H2 는 lock timeout 힌트 대신 세션 LOCK_TIMEOUT 적용)
+        try {
+            Assertions.assertThatThrownBy(() -> memberService.increaseAgeWithLock(member.getUsername(), 1))
+                    .isInstanceOf(PessimisticLockingFailureException.class);
+        } finally {
+            release.countDown();
+            holder.get();
+        }
+
+        // then - lock 을 잡은 트랜잭션이 끝나면 수정 가능
+        memberService.increaseAgeWithLock(member.getUsername(), 1);
+        Assertions.assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(1);
+    }
+
+    @Test
+    void retryInNewTransaction() {
+        Member member = save(new Member("retry-" + UUID.randomUUID(), 0));
+        trackedMemberId = member.getId();
+        conflictPending.set(true);
+        try {
+            // when - 첫 시도의 조회 직후 다른 트랜잭션이 먼저 수정 => 커밋 시 version 충돌
+            memberService.increaseAge(member.getId(), 1);
+        } finally {
+            trackedMemberId = null;
+        }
+
+        // then - 재시도는 새 트랜잭션 (새 영속성 컨텍스트) 에서 다시 조회해서 수정
+        Assertions.assertThat(attemptEntityManagers).hasSize(2).doesNotContainNull();
+        Assertions.assertThat(attemptEntityManagers.get(0)).isNotSameAs(attemptEntityManagers.get(1));
+        Assertions.assertThat(memberRepository.findById(member.getId()).get().getAge()).isEqualTo(101);
+    }
+
+    private Member save(Member member) {
+        memberRepository.save(member);
+        memberIds.add(member.getId());
+        return member;
+    }
+
+    /**
+     * MemberRepository.findById 직후 (conflictPending 이면 한번만) 다른 스레드, 다른 트랜잭션에서 같은 member 를 먼저 수정
+     */
+    @TestConfiguration
+    static class ConcurrentUpdateConfig {
+
+        @Bean
+        static BeanPostProcessor concurrentUpdateAfterFindById(ObjectProvider<EntityManagerFactory> entityManagerFactory,
+                                                               ObjectProvider<PlatformTransactionManager> transactionManager) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof MemberRepository memberRepository)) {
+                        return bean;
+                    }
+                    ProxyFactory proxyFactory = new ProxyFactory(bean);
+                    proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+                        Object result = invocation.proceed();
+                        Long memberId = trackedMemberId;
+                        if ("findById".equals(invocation.getMethod().getName()) && memberId != null
+                                && memberId.equals(invocation.getArguments()[0])) {
+                            attemptEntityManagers.add(
+                                    EntityManagerFactoryUtils.getTransactionalEntityManager(entityManagerFactory.getObject()));
+                            if (conflictPending.compareAndSet(true, false)) {
+                                CompletableFuture.runAsync(() -> new TransactionTemplate(transactionManager.getObject())
+                                        .executeWithoutResult(status -> memberRepository.findById(memberId).get().increaseAge(100)))
+                                        .join();
+                            }
+                        }
+                        return result;
+                    });
+                    return proxyFactory.getProxy();
+                }
+            };
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}